@@ -0,0 +1,999 @@
+package com.example.algoproject;
+
+import com.example.algoproject.solver.HanoiAlgorithm;
+import com.example.algoproject.solver.HanoiSolver;
+import com.example.algoproject.solver.MoveBuffer;
+import com.example.algoproject.solver.MoveGenerator;
+import com.example.algoproject.solver.MoveSink;
+import com.example.algoproject.solver.SolutionCache;
+import com.example.algoproject.solver.SolverMetrics;
+import com.example.algoproject.solver.io.SolutionFile;
+import javafx.application.Application;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.concurrent.Task;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.*;
+import javafx.scene.layout.*;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+import javafx.stage.FileChooser;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+import javafx.animation.AnimationTimer;
+import javafx.animation.TranslateTransition;
+import javafx.util.StringConverter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class TowerOfHanoiFX extends Application {
+    // Constants
+    private static final int DEFAULT_NUM_DISKS = 8;
+    private static final int NUM_PEGS = 4;
+    private static final int PEG_HEIGHT = 200;
+    private static final int PEG_WIDTH = 10;
+    private static final int DISK_HEIGHT = 20;
+    private static final int MAX_DISK_WIDTH = 200;
+    private static final int BASE_HEIGHT = 20;
+    private static final int NODE_RENDERER_MAX_DISKS = 10;
+    private static final int MAX_DISKS = 500;
+    private static final int MAX_BUFFERED_MOVES = 1 << 24;
+    private static final long PROGRESS_CHUNK = 1 << 16;
+    private static final double DEFAULT_MOVES_PER_SECOND = 2;
+    private static final double MAX_MOVES_PER_SECOND = 100_000;
+
+    // UI Components
+    private BorderPane root;
+    private TowerView hanoiPane;
+    private ComboBox<Integer> diskCountSelector;
+    private ComboBox<String> algorithmSelector;
+    private Button startButton;
+    private Button resetButton;
+    private Button saveButton;
+    private Button replayButton;
+    private Label statusLabel;
+    private Label moveCountLabel;
+    private Slider animationSpeedSlider;
+    private ProgressBar progressBar;
+
+    // State variables
+    private int numDisks = DEFAULT_NUM_DISKS;
+    private final ExecutorService solveExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private Task<MoveBuffer> solveTask;
+    private long moveCount = 0;
+    private MoveBuffer moves = new MoveBuffer();
+    private MovePlayer player;
+    private HanoiAlgorithm solvedAlgorithm;
+    private Stage stage;
+
+    @Override
+    public void start(Stage primaryStage) {
+        stage = primaryStage;
+        primaryStage.setTitle("Tower of Hanoi - Four Pegs");
+
+        root = new BorderPane();
+        root.setPadding(new Insets(10));
+
+        // Setup UI components
+        setupHanoiPane();
+        VBox controlPanel = setupControlPanel();
+        HBox statusBar = setupStatusBar();
+
+        // Add components to layout
+        root.setCenter(hanoiPane);
+        root.setRight(controlPanel);
+        root.setBottom(statusBar);
+
+        Scene scene = new Scene(root);
+        scene.getStylesheets().add(getClass().getResource("styles.css") != null ?
+                getClass().getResource("styles.css").toExternalForm() : "");
+
+        primaryStage.setScene(scene);
+        primaryStage.setResizable(true);
+        primaryStage.show();
+
+        // Initial status
+        statusLabel.setText("Select number of disks and click 'Start'");
+    }
+
+    @Override
+    public void stop() {
+        solveExecutor.shutdownNow();
+        SolverMetrics.disable();
+    }
+
+    private void setupHanoiPane() {
+        hanoiPane = createTowerView(numDisks);
+        player = new MovePlayer();
+    }
+
+    // One node per disk is fine for a few disks, more are drawn on a canvas
+    private TowerView createTowerView(int disks) {
+        return disks <= NODE_RENDERER_MAX_DISKS ? new HanoiPane(disks) : new TowerCanvas(disks);
+    }
+
+    private VBox setupControlPanel() {
+        VBox panel = new VBox(10);
+        panel.setPadding(new Insets(10));
+        panel.setAlignment(Pos.TOP_CENTER);
+        panel.setPrefWidth(250);
+        panel.getStyleClass().add("control-panel");
+
+        // Disk count selector
+        Label diskCountLabel = new Label("Number of Disks:");
+        diskCountSelector = new ComboBox<>();
+        diskCountSelector.getItems().addAll(3, 4, 5, 6, 7, 8, 9, 10, 16, 32, 64, 128, 256, 500);
+        diskCountSelector.setValue(DEFAULT_NUM_DISKS);
+        diskCountSelector.setMaxWidth(Double.MAX_VALUE);
+        diskCountSelector.valueProperty().addListener((obs, oldVal, newVal) -> {
+            cancelSolve();
+            player.stop();
+            numDisks = newVal;
+            if ((numDisks > NODE_RENDERER_MAX_DISKS) == (hanoiPane instanceof TowerCanvas)) {
+                hanoiPane.setNumDisks(numDisks);
+            } else {
+                hanoiPane = createTowerView(numDisks);
+                root.setCenter(hanoiPane);
+            }
+            if (hanoiPane.getHeight() < hanoiPane.minHeight(-1)) {
+                stage.sizeToScene();
+            }
+        });
+
+        // Algorithm selector
+        Label algorithmLabel = new Label("Algorithm:");
+        algorithmSelector = new ComboBox<>();
+        algorithmSelector.getItems().addAll(
+                "Frame-Stewart Algorithm",
+                "Dynamic Programming",
+                "Simple Divide & Conquer"
+        );
+        algorithmSelector.setValue("Frame-Stewart Algorithm");
+        algorithmSelector.setMaxWidth(Double.MAX_VALUE);
+
+        // Animation speed, log10 of the moves per second
+        Label speedLabel = new Label("Moves per Second:");
+        animationSpeedSlider = new Slider(0, Math.log10(MAX_MOVES_PER_SECOND), Math.log10(DEFAULT_MOVES_PER_SECOND));
+        animationSpeedSlider.setShowTickMarks(true);
+        animationSpeedSlider.setShowTickLabels(true);
+        animationSpeedSlider.setMajorTickUnit(1);
+        animationSpeedSlider.setBlockIncrement(0.1);
+        animationSpeedSlider.setLabelFormatter(new StringConverter<>() {
+            @Override
+            public String toString(Double value) {
+                return String.format("%.0f", Math.pow(10, value));
+            }
+
+            @Override
+            public Double fromString(String text) {
+                return Math.log10(Double.parseDouble(text));
+            }
+        });
+
+        // Buttons
+        startButton = new Button("Start");
+        startButton.setMaxWidth(Double.MAX_VALUE);
+        startButton.getStyleClass().add("start-button");
+        startButton.setOnAction(e -> startTowerOfHanoi());
+
+        resetButton = new Button("Reset");
+        resetButton.setMaxWidth(Double.MAX_VALUE);
+        resetButton.setOnAction(e -> resetTowers());
+
+        saveButton = new Button("Save Solution...");
+        saveButton.setMaxWidth(Double.MAX_VALUE);
+        saveButton.setDisable(true);
+        saveButton.setOnAction(e -> saveSolution());
+
+        replayButton = new Button("Replay File...");
+        replayButton.setMaxWidth(Double.MAX_VALUE);
+        replayButton.setOnAction(e -> replaySolutionFile());
+
+        CheckBox metricsCheckBox = new CheckBox("Record metrics (JFR)");
+        metricsCheckBox.selectedProperty().addListener((obs, oldVal, newVal) -> recordMetrics(newVal));
+
+        // Add components to panel
+        panel.getChildren().addAll(
+                diskCountLabel, diskCountSelector,
+                algorithmLabel, algorithmSelector,
+                speedLabel, animationSpeedSlider,
+                new Separator(),
+                startButton,
+                resetButton,
+                new Separator(),
+                saveButton,
+                replayButton,
+                new Separator(),
+                metricsCheckBox
+        );
+
+        return panel;
+    }
+
+    private HBox setupStatusBar() {
+        HBox statusBar = new HBox(10);
+        statusBar.setPadding(new Insets(5, 10, 5, 10));
+        statusBar.setAlignment(Pos.CENTER_LEFT);
+
+        statusLabel = new Label();
+        statusLabel.setMaxWidth(Double.MAX_VALUE);
+        HBox.setHgrow(statusLabel, Priority.ALWAYS);
+
+        moveCountLabel = new Label("Moves: 0");
+
+        progressBar = new ProgressBar(0);
+        progressBar.setPrefWidth(150);
+        progressBar.setVisible(false);
+
+        statusBar.getChildren().addAll(statusLabel, moveCountLabel, progressBar);
+
+        return statusBar;
+    }
+
+    private void startTowerOfHanoi() {
+        // Selector items are in HanoiAlgorithm order, read here on the FX thread
+        HanoiAlgorithm algorithm = HanoiAlgorithm.values()[Math.max(0, algorithmSelector.getSelectionModel().getSelectedIndex())];
+        int disks = numDisks;
+        MoveGenerator generator;
+        try {
+            generator = HanoiSolver.generator(algorithm, disks);
+        } catch (ArithmeticException e) {
+            statusLabel.setText("Error: " + e.getMessage());
+            return;
+        }
+
+        cancelSolve();
+        moveCount = 0;
+        moveCountLabel.setText("Moves: 0");
+        moves = new MoveBuffer();
+        saveButton.setDisable(true);
+
+        // Playback starts at once and reads the moves as the solver fills them in, so the
+        // solution is generated only once
+        player.stop();
+        hanoiPane.resetTowers();
+        long total = generator.remaining();
+
+        if (total > MAX_BUFFERED_MOVES) {
+            // Too many moves to keep in memory, they are played straight from the generator
+            player.play(new GeneratorCursor(generator), total, null);
+            statusLabel.setText("Playing " + total + " moves, too many to keep for saving.");
+            return;
+        }
+
+        // A cached solution, or one another window or the console is already solving,
+        // replaces the buffer being filled
+        BufferCursor cursor = new BufferCursor();
+        player.play(cursor, total, null);
+
+        Task<MoveBuffer> task = new Task<>() {
+            @Override
+            protected MoveBuffer call() {
+                MoveBuffer solution = SolutionCache.shared().get(algorithm, disks, NUM_PEGS, 0, NUM_PEGS - 1, this::generate);
+                cursor.publish(solution, solution.size());
+                return solution;
+            }
+
+            // Filled in chunks, checking for cancellation and publishing progress in between
+            private MoveBuffer generate() {
+                // Sized for the whole solution up front, so the array the player reads never moves
+                MoveBuffer buffer = new MoveBuffer((int) total);
+                try (SolverMetrics.Span span = SolverMetrics.begin(SolverMetrics.Phase.GENERATE, algorithm.name(), disks)) {
+                    while (generator.hasNext()) {
+                        if (isCancelled()) {
+                            throw new CancellationException();
+                        }
+                        generator.drainTo(buffer, PROGRESS_CHUNK);
+                        cursor.publish(buffer, buffer.size());
+                        updateProgress(total - generator.remaining(), total);
+                    }
+                    span.moves(total);
+                }
+                return buffer;
+            }
+
+            @Override
+            protected void succeeded() {
+                if (solveTask != this) return;
+                solveTask = null;
+                moves = getValue();
+                solvedAlgorithm = algorithm;
+                moveCount = moves.size();
+
+                statusLabel.setText("Solution found! " + moveCount + " moves."
+                        + (SolverMetrics.isEnabled() ? " " + SolverMetrics.snapshot().summary() : ""));
+                hideProgress();
+                saveButton.setDisable(false);
+            }
+
+            @Override
+            protected void failed() {
+                if (solveTask != this) return;
+                solveTask = null;
+                player.stop();
+                statusLabel.setText("Error: " + getException().getMessage());
+                hideProgress();
+            }
+
+            @Override
+            protected void cancelled() {
+                if (solveTask != this) return;
+                solveTask = null;
+                hideProgress();
+            }
+        };
+
+        solveTask = task;
+        statusLabel.setText("Calculating solution...");
+        progressBar.progressProperty().bind(task.progressProperty());
+        progressBar.setVisible(true);
+        solveExecutor.execute(task);
+    }
+
+    // Solves started while on are timed; the recording is written when switched off
+    private void recordMetrics(boolean on) {
+        if (!on) {
+            Path recorded = SolverMetrics.disable();
+            statusLabel.setText(recorded != null ? "Recording saved to " + recorded.toAbsolutePath() : "Metrics off.");
+            return;
+        }
+        Path file = Path.of("hanoi-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".jfr");
+        try {
+            SolverMetrics.reset();
+            SolverMetrics.enable(file);
+            statusLabel.setText("Recording solver metrics to " + file.toAbsolutePath());
+        } catch (IOException e) {
+            statusLabel.setText("Error: " + e.getMessage());
+        }
+    }
+
+    // Aborts a running solve, its moves are dropped
+    private void cancelSolve() {
+        if (solveTask != null) {
+            solveTask.cancel();
+        }
+    }
+
+    private void hideProgress() {
+        progressBar.progressProperty().unbind();
+        progressBar.setProgress(0);
+        progressBar.setVisible(false);
+    }
+
+    private void resetTowers() {
+        cancelSolve();
+        player.stop();
+
+        moveCount = 0;
+        moveCountLabel.setText("Moves: 0");
+        moves = new MoveBuffer();
+        saveButton.setDisable(true);
+
+        hanoiPane.resetTowers();
+        statusLabel.setText("Select number of disks and click 'Start'");
+    }
+
+    private double movesPerSecond() {
+        return Math.pow(10, animationSpeedSlider.getValue());
+    }
+
+    private void saveSolution() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Save Solution");
+        chooser.setInitialFileName(numDisks + "-disks.hanoi");
+        File file = chooser.showSaveDialog(stage);
+        if (file == null) {
+            return;
+        }
+
+        try (SolutionFile.Writer writer = SolutionFile.create(file.toPath(), solvedAlgorithm.name(), numDisks, NUM_PEGS)) {
+            moves.forEachMove(writer);
+            statusLabel.setText("Saved " + writer.moveCount() + " moves to " + file.getName());
+        } catch (IOException e) {
+            statusLabel.setText("Error: " + e.getMessage());
+        }
+    }
+
+    private void replaySolutionFile() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Replay Solution File");
+        File file = chooser.showOpenDialog(stage);
+        if (file == null) {
+            return;
+        }
+
+        SolutionFile solution = null;
+        try {
+            solution = SolutionFile.open(file.toPath());
+            if (solution.pegs() != NUM_PEGS || solution.numDisks() < 1 || solution.numDisks() > MAX_DISKS) {
+                statusLabel.setText("Can't replay " + solution.numDisks() + " disks on " + solution.pegs() + " pegs");
+                solution.close();
+                return;
+            }
+
+            TextInputDialog dialog = new TextInputDialog("0");
+            dialog.setTitle("Replay Solution File");
+            dialog.setHeaderText("Start at move (0-" + solution.moveCount() + "):");
+            Optional<String> answer = dialog.showAndWait();
+            if (answer.isEmpty()) {
+                solution.close();
+                return;
+            }
+            long start = Long.parseLong(answer.get().trim());
+            int[] state = solution.stateAt(start);
+
+            cancelSolve();
+            player.stop();
+            moves = new MoveBuffer();
+            saveButton.setDisable(true);
+            diskCountSelector.setValue(solution.numDisks());
+            hanoiPane.setState(state);
+
+            moveCount = solution.moveCount();
+            // The file stays mapped while it plays and is unmapped when playback ends or stops
+            SolutionFile playing = solution;
+            player.play(new FileCursor(playing, start), solution.moveCount() - start, playing::close);
+            statusLabel.setText("Replaying " + file.getName() + " from move " + start + ".");
+        } catch (IOException | NumberFormatException | IndexOutOfBoundsException | IllegalStateException e) {
+            if (solution != null) {
+                solution.close();
+            }
+            statusLabel.setText("Error: " + e.getMessage());
+        }
+    }
+
+    /** Pulls one move at a time from a solution. */
+    private interface MoveCursor {
+        /** Moves that can be pulled right now; fewer than are left while the solution is still being produced. */
+        long available();
+
+        /** Writes the next move into {@code sink}. */
+        void next(MoveSink sink);
+    }
+
+    /** Reads a buffer up to the moves another thread has published so far. */
+    private static final class BufferCursor implements MoveCursor {
+        // Set before filled, so a reader that sees the new count also sees the buffer holding it
+        private volatile MoveBuffer buffer;
+        private volatile int filled;  // the moves below it are visible to the reader
+        private int next;
+
+        // Moves of the same solution, possibly another buffer than the last one published
+        void publish(MoveBuffer buffer, int filled) {
+            this.buffer = buffer;
+            this.filled = filled;
+        }
+
+        @Override
+        public long available() {
+            return filled - next;
+        }
+
+        @Override
+        public void next(MoveSink sink) {
+            int move = buffer.packed(next++);
+            sink.move(MoveBuffer.fromPegOf(move), MoveBuffer.toPegOf(move), MoveBuffer.diskIndexOf(move));
+        }
+    }
+
+    private static final class GeneratorCursor implements MoveCursor {
+        private final MoveGenerator generator;
+
+        GeneratorCursor(MoveGenerator generator) {
+            this.generator = generator;
+        }
+
+        @Override
+        public long available() {
+            return generator.remaining();
+        }
+
+        @Override
+        public void next(MoveSink sink) {
+            generator.drainTo(sink, 1);
+        }
+    }
+
+    private static final class FileCursor implements MoveCursor {
+        private final SolutionFile file;
+        private long next;
+
+        FileCursor(SolutionFile file, long start) {
+            this.file = file;
+            this.next = start;
+        }
+
+        @Override
+        public long available() {
+            return file.moveCount() - next;
+        }
+
+        @Override
+        public void next(MoveSink sink) {
+            file.replay(next, next + 1, sink);
+            next++;
+        }
+    }
+
+    /**
+     * Plays moves as they are pulled, driven by the frame pulse. Up to the frame rate every
+     * move is tweened with one reused transition; above it the moves owed for the elapsed
+     * time are applied directly, as many per frame as fit in the frame budget.
+     */
+    private class MovePlayer extends AnimationTimer {
+        private static final double TWEEN_MAX_RATE = 30;
+        private static final long FRAME_BUDGET_NANOS = 8_000_000;
+
+        private final TranslateTransition transition = new TranslateTransition();
+        private final MoveSink applyMove = (fromPeg, toPeg, diskIndex) -> hanoiPane.moveDisk(fromPeg, toPeg, null);
+        private final MoveSink tweenMove = (fromPeg, toPeg, diskIndex) -> hanoiPane.moveDisk(fromPeg, toPeg, transition);
+        private boolean tweening;
+        private MoveCursor cursor;
+        private Runnable onEnd;
+        private long total;
+        private long played;
+        private long lastFrame;
+        private double owed;
+
+        MovePlayer() {
+            transition.setOnFinished(e -> tweening = false);
+        }
+
+        /** Starts playing {@code total} moves from {@code cursor}; {@code onEnd} runs when they ran out or on stop. */
+        void play(MoveCursor cursor, long total, Runnable onEnd) {
+            stop();
+            this.cursor = cursor;
+            this.total = total;
+            this.onEnd = onEnd;
+            played = 0;
+            lastFrame = 0;
+            owed = 0;
+            start();
+        }
+
+        @Override
+        public void stop() {
+            super.stop();
+            if (tweening) {
+                // Put the disk where the running tween was taking it, so it matches the model
+                tweening = false;
+                transition.stop();
+                transition.getNode().setTranslateX(transition.getToX());
+                transition.getNode().setTranslateY(transition.getToY());
+            }
+            cursor = null;
+            if (onEnd != null) {
+                Runnable end = onEnd;
+                onEnd = null;
+                end.run();
+            }
+        }
+
+        @Override
+        public void handle(long now) {
+            if (played == total) {
+                if (!tweening) {
+                    finish();
+                }
+                return;
+            }
+            double rate = movesPerSecond();
+            if (rate <= TWEEN_MAX_RATE && hanoiPane.canTween()) {
+                lastFrame = 0;
+                owed = 0;
+                if (!tweening && cursor.available() > 0) {
+                    tweenNext(rate);
+                }
+                return;
+            }
+
+            if (lastFrame != 0) {
+                owed += (now - lastFrame) * rate / 1e9;
+            }
+            lastFrame = now;
+            long deadline = System.nanoTime() + FRAME_BUDGET_NANOS;
+            // Moves not produced yet are owed until a later frame
+            long ready = tweening ? 0 : Math.min((long) owed, cursor.available());
+            for (long i = 0; i < ready; i++) {
+                cursor.next(applyMove);
+                owed--;
+                played++;
+                if ((played & 0xFF) == 0 && System.nanoTime() > deadline) {
+                    owed = Math.min(owed, rate);  // falling behind, don't build up a backlog
+                    break;
+                }
+            }
+            moveCountLabel.setText("Moves: " + played + " / " + total);
+        }
+
+        private void tweenNext(double rate) {
+            cursor.next(tweenMove);
+            played++;
+            tweening = true;
+            transition.setDuration(Duration.seconds(0.9 / rate));
+            transition.playFromStart();
+            moveCountLabel.setText("Moves: " + played + " / " + total);
+        }
+
+        private void finish() {
+            moveCountLabel.setText("Moves: " + played + " / " + total);
+            stop();
+        }
+    }
+
+    /** Draws the pegs and disks and tracks which disk is on which peg. */
+    private abstract static class TowerView extends Pane {
+        public abstract void setNumDisks(int numDisks);
+
+        public abstract void resetTowers();
+
+        /** Places every disk on the peg given by its index, 0 being the smallest disk. */
+        public abstract void setState(int[] pegOfDisk);
+
+        /**
+         * Moves the top disk of {@code fromPeg} onto {@code toPeg}. The disk is tweened there by
+         * {@code transition}, which the caller plays, or placed at once when it is null.
+         */
+        public abstract void moveDisk(int fromPeg, int toPeg, TranslateTransition transition);
+
+        /** False when {@link #moveDisk} always places the disk at once. */
+        public abstract boolean canTween();
+    }
+
+    private class HanoiPane extends TowerView {
+        private final List<Stack<Rectangle>> pegs;
+        private  Rectangle[] disks;
+        private final Rectangle[] pegRects;
+
+        public HanoiPane(int disks) {
+            pegs = new ArrayList<>(NUM_PEGS);
+            for (int i = 0; i < NUM_PEGS; i++) {
+                pegs.add(new Stack<>());
+            }
+
+            this.disks = new Rectangle[disks];
+            this.pegRects = new Rectangle[NUM_PEGS];
+
+            setNumDisks(disks);
+        }
+
+        @Override
+        public void setNumDisks(int numDisks) {
+            getChildren().clear();
+            for (Stack<Rectangle> peg : pegs) {
+                peg.clear();
+            }
+
+            // Create a new array with the correct size
+            this.disks = new Rectangle[numDisks];
+
+            // Create the base at the bottom
+            Rectangle base = new Rectangle(0, getHeight() - 20, getWidth(), 20);
+            base.setFill(Color.SADDLEBROWN);
+            getChildren().add(base);
+
+            // Create pegs - growing upward from the base
+            double pegSpacing = getWidth() / (NUM_PEGS + 1);
+            for (int i = 0; i < NUM_PEGS; i++) {
+                double pegX = (i + 1) * pegSpacing - PEG_WIDTH / 2;
+                Rectangle peg = new Rectangle(pegX, getHeight() - 20 - PEG_HEIGHT, PEG_WIDTH, PEG_HEIGHT);
+                peg.setFill(Color.BROWN);
+                pegRects[i] = peg;
+                getChildren().add(peg);
+            }
+
+            // Create disks - largest at bottom, smallest at top
+            double diskWidthDecrement = MAX_DISK_WIDTH / numDisks;
+            for (int i = 0; i < numDisks; i++) {
+                double diskWidth = MAX_DISK_WIDTH - (i * diskWidthDecrement);
+                Rectangle disk = new Rectangle(
+                        pegRects[0].getX() + pegRects[0].getWidth() / 2 - diskWidth / 2,
+                        getHeight() - 20 - (i + 1) * DISK_HEIGHT, // Stack from bottom up
+                        diskWidth,
+                        DISK_HEIGHT
+                );
+
+                double hue = ((double) i / numDisks) * 280;
+                disk.setFill(Color.hsb(hue, 0.8, 0.9));
+                disk.setStroke(Color.BLACK);
+                disk.setStrokeWidth(1);
+                disk.setArcWidth(10);
+                disk.setArcHeight(10);
+
+                this.disks[i] = disk;
+                pegs.get(0).push(disk);
+                getChildren().add(disk);
+            }
+        }
+
+        @Override
+        public void resetTowers() {
+            for (Stack<Rectangle> peg : pegs) {
+                peg.clear();
+            }
+
+            for (int i = 0; i < disks.length; i++) {
+                Rectangle disk = disks[i];
+                disk.setTranslateX(0);
+                disk.setTranslateY(0);
+
+                // Reset position from bottom up
+                disk.setX(pegRects[0].getX() + pegRects[0].getWidth() / 2 - disk.getWidth() / 2);
+                disk.setY(getHeight() - 20 - (i + 1) * DISK_HEIGHT);
+
+                pegs.get(0).push(disk);
+                disk.toFront();
+            }
+        }
+
+        @Override
+        public void setState(int[] pegOfDisk) {
+            for (Stack<Rectangle> peg : pegs) {
+                peg.clear();
+            }
+
+            // disks[0] is the largest rectangle
+            for (int i = 0; i < disks.length; i++) {
+                Rectangle disk = disks[i];
+                int pegIndex = pegOfDisk[disks.length - 1 - i];
+                pegs.get(pegIndex).push(disk);
+
+                disk.setTranslateX(0);
+                disk.setTranslateY(0);
+                disk.setX(pegRects[pegIndex].getX() + pegRects[pegIndex].getWidth() / 2 - disk.getWidth() / 2);
+                disk.setY(getHeight() - 20 - pegs.get(pegIndex).size() * DISK_HEIGHT);
+                disk.toFront();
+            }
+        }
+
+        @Override
+        public void moveDisk(int fromPeg, int toPeg, TranslateTransition transition) {
+            if (pegs.get(fromPeg).isEmpty()) {
+                return;
+            }
+
+            Rectangle disk = pegs.get(fromPeg).pop();
+            pegs.get(toPeg).push(disk);
+
+            double startX = pegRects[fromPeg].getX() + pegRects[fromPeg].getWidth() / 2;
+            double endX = pegRects[toPeg].getX() + pegRects[toPeg].getWidth() / 2;
+            double diskCenterX = disk.getX() + disk.getWidth() / 2;
+
+            // Calculate horizontal movement
+            double targetX = endX - diskCenterX;
+
+            // Calculate vertical position - baseY is the bottom of the peg
+            double baseY = getHeight() - 20;
+            int stackHeight = pegs.get(toPeg).size(); // Number of disks on target peg
+            double targetY = (baseY - stackHeight * DISK_HEIGHT) - disk.getY();
+
+            if (transition == null) {
+                disk.setTranslateX(targetX);
+                disk.setTranslateY(targetY);
+                return;
+            }
+            transition.setNode(disk);
+            transition.setToX(targetX);
+            transition.setToY(targetY);
+        }
+
+        @Override
+        public boolean canTween() {
+            return true;
+        }
+
+        @Override
+        protected void layoutChildren() {
+            super.layoutChildren();
+
+            double width = getWidth();
+            double height = getHeight();
+
+            // Position base at the bottom
+            if (!getChildren().isEmpty()) {
+                Rectangle base = (Rectangle) getChildren().get(0);
+                base.setWidth(width);
+                base.setY(height - 20);
+                base.setHeight(20);
+            }
+
+            // Update peg positions
+            double pegSpacing = width / (NUM_PEGS + 1);
+            for (int i = 0; i < NUM_PEGS; i++) {
+                Rectangle peg = pegRects[i];
+                double pegX = (i + 1) * pegSpacing - PEG_WIDTH / 2;
+                peg.setX(pegX);
+                peg.setY(height - 20 - PEG_HEIGHT);
+                peg.setHeight(PEG_HEIGHT);
+            }
+
+            // Update disk positions, every peg from the bottom up
+            for (int pegIndex = 0; pegIndex < NUM_PEGS; pegIndex++) {
+                Stack<Rectangle> peg = pegs.get(pegIndex);
+                for (int diskPosition = 0; diskPosition < peg.size(); diskPosition++) {
+                    Rectangle disk = peg.get(diskPosition);
+                    disk.setTranslateX(0);
+                    disk.setTranslateY(0);
+                    disk.setX(pegRects[pegIndex].getX() + pegRects[pegIndex].getWidth() / 2 - disk.getWidth() / 2);
+                    disk.setY(height - 20 - ((diskPosition + 1) * DISK_HEIGHT));
+                }
+            }
+        }
+    }
+
+    /**
+     * Draws every disk on one canvas from an index-based model: each peg is an array of disk
+     * ids from the bottom up and each disk knows its peg and level. All geometry is in whole
+     * pixels, so a move only clears and redraws the two disk-sized slots it empties and fills;
+     * the whole canvas is repainted on a resize or a new state only.
+     */
+    private class TowerCanvas extends TowerView {
+        private final Canvas canvas = new Canvas();
+        private final int[][] stacks = new int[NUM_PEGS][];
+        private final int[] stackSizes = new int[NUM_PEGS];
+        private int[] pegOf;
+        private int[] levelOf;
+        private int[] widths;
+        private Color[] fills;
+        private Color[] outlines;
+
+        // Geometry for the current size, in whole pixels
+        private int baseY;
+        private int pegTop;
+        private int diskHeight;
+        private int columnWidth;
+        private final int[] centerX = new int[NUM_PEGS];
+
+        TowerCanvas(int disks) {
+            getChildren().add(canvas);
+            setNumDisks(disks);
+        }
+
+        @Override
+        public void setNumDisks(int numDisks) {
+            for (int peg = 0; peg < NUM_PEGS; peg++) {
+                stacks[peg] = new int[numDisks];
+            }
+            pegOf = new int[numDisks];
+            levelOf = new int[numDisks];
+            widths = new int[numDisks];
+            fills = new Color[numDisks];
+            outlines = new Color[numDisks];
+            for (int disk = 0; disk < numDisks; disk++) {
+                // Same colors as the node renderer, red for the largest disk
+                fills[disk] = Color.hsb((double) (numDisks - 1 - disk) / numDisks * 280, 0.8, 0.9);
+                outlines[disk] = fills[disk].darker();
+            }
+            // At least one pixel row per disk
+            setMinHeight(numDisks + BASE_HEIGHT + 10);
+            setPrefSize((NUM_PEGS + 1) * MAX_DISK_WIDTH, Math.max(PEG_HEIGHT, numDisks) + BASE_HEIGHT + 40);
+            resetTowers();
+        }
+
+        @Override
+        public void resetTowers() {
+            setState(new int[pegOf.length]);
+        }
+
+        @Override
+        public void setState(int[] pegOfDisk) {
+            Arrays.fill(stackSizes, 0);
+            for (int disk = pegOfDisk.length - 1; disk >= 0; disk--) {
+                push(disk, pegOfDisk[disk]);
+            }
+            repaint();
+        }
+
+        @Override
+        public void moveDisk(int fromPeg, int toPeg, TranslateTransition transition) {
+            if (stackSizes[fromPeg] == 0) {
+                return;
+            }
+            int disk = stacks[fromPeg][--stackSizes[fromPeg]];
+            GraphicsContext g = canvas.getGraphicsContext2D();
+            drawSlot(g, fromPeg, levelOf[disk]);
+            push(disk, toPeg);
+            drawSlot(g, toPeg, levelOf[disk]);
+        }
+
+        @Override
+        public boolean canTween() {
+            return false;
+        }
+
+        @Override
+        protected void layoutChildren() {
+            if (canvas.getWidth() != getWidth() || canvas.getHeight() != getHeight()) {
+                canvas.setWidth(getWidth());
+                canvas.setHeight(getHeight());
+                repaint();
+            }
+        }
+
+        private void push(int disk, int peg) {
+            pegOf[disk] = peg;
+            levelOf[disk] = stackSizes[peg];
+            stacks[peg][stackSizes[peg]++] = disk;
+        }
+
+        private void measure() {
+            int width = (int) canvas.getWidth();
+            int height = (int) canvas.getHeight();
+            int numDisks = pegOf.length;
+            baseY = height - BASE_HEIGHT;
+            diskHeight = Math.max(1, Math.min(DISK_HEIGHT, (baseY - 10) / Math.max(1, numDisks)));
+            pegTop = Math.max(0, baseY - Math.max(PEG_HEIGHT, numDisks * diskHeight + 10));
+
+            double pegSpacing = (double) width / (NUM_PEGS + 1);
+            for (int peg = 0; peg < NUM_PEGS; peg++) {
+                centerX[peg] = (int) Math.round((peg + 1) * pegSpacing);
+            }
+            // Columns of neighbouring pegs never overlap, so a slot is redrawn on its own
+            int maxWidth = Math.max(PEG_WIDTH + 2, Math.min(MAX_DISK_WIDTH, (int) pegSpacing - 4));
+            columnWidth = maxWidth + 2;
+            for (int disk = 0; disk < numDisks; disk++) {
+                widths[disk] = PEG_WIDTH + 2 + (int) ((long) (maxWidth - PEG_WIDTH - 2) * (disk + 1) / numDisks);
+            }
+        }
+
+        private void repaint() {
+            measure();
+            GraphicsContext g = canvas.getGraphicsContext2D();
+            g.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+            g.setFill(Color.SADDLEBROWN);
+            g.fillRect(0, baseY, canvas.getWidth(), BASE_HEIGHT);
+            for (int peg = 0; peg < NUM_PEGS; peg++) {
+                g.setFill(Color.BROWN);
+                g.fillRect(centerX[peg] - PEG_WIDTH / 2, pegTop, PEG_WIDTH, baseY - pegTop);
+                for (int level = 0; level < stackSizes[peg]; level++) {
+                    drawDisk(g, stacks[peg][level]);
+                }
+            }
+        }
+
+        // Clears one level of a peg's column and draws what is there now: the peg, and the disk if any
+        private void drawSlot(GraphicsContext g, int peg, int level) {
+            int y = baseY - (level + 1) * diskHeight;
+            g.clearRect(centerX[peg] - columnWidth / 2, y, columnWidth, diskHeight);
+            g.setFill(Color.BROWN);
+            g.fillRect(centerX[peg] - PEG_WIDTH / 2, y, PEG_WIDTH, diskHeight);
+            if (level < stackSizes[peg]) {
+                drawDisk(g, stacks[peg][level]);
+            }
+        }
+
+        private void drawDisk(GraphicsContext g, int disk) {
+            int width = widths[disk];
+            int x = centerX[pegOf[disk]] - width / 2;
+            int y = baseY - (levelOf[disk] + 1) * diskHeight;
+            if (diskHeight < 3) {
+                g.setFill(fills[disk]);
+                g.fillRect(x, y, width, diskHeight);
+                return;
+            }
+            g.setFill(outlines[disk]);
+            g.fillRect(x, y, width, diskHeight);
+            g.setFill(fills[disk]);
+            g.fillRect(x + 1, y + 1, width - 2, diskHeight - 2);
+        }
+    }
+
+        public static void main(String[] args) {
+            launch(args);
+        }
+    }
@@ -1,4 +1,6 @@
 module com.example.algoproject {
+    requires com.example.algoproject.solver;
+
     requires javafx.controls;
     requires javafx.fxml;
     requires javafx.web;
@@ -13,4 +15,4 @@ module com.example.algoproject {
 
     opens com.example.algoproject to javafx.fxml;
     exports com.example.algoproject;
-}
\ No newline at end of file
+}
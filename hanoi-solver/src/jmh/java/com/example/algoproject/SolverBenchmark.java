@@ -0,0 +1,92 @@
+package com.example.algoproject;
+
+import com.example.algoproject.solver.HanoiAlgorithm;
+import com.example.algoproject.solver.HanoiSolver;
+import com.example.algoproject.solver.MoveBuffer;
+import com.example.algoproject.solver.MoveGenerator;
+import com.example.algoproject.solver.ParallelMoveGenerator;
+import com.example.algoproject.solver.ThreePegSolver;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of every solver, reported per solve and per generated move.
+ * Run with the GC profiler to get the allocation rate:
+ * <pre>
+ *   mvn -P jmh -pl hanoi-solver package
+ *   java -jar hanoi-solver/target/benchmarks.jar -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SolverBenchmark {
+
+    @Param({"10", "16", "20"})
+    public int numDisks;
+
+    private ParallelMoveGenerator parallelGenerator;
+
+    /** Moves per second next to solves per second; time per move is its inverse. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class MoveCounter {
+        public long moves;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            moves = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        parallelGenerator = new ParallelMoveGenerator();
+    }
+
+    @Benchmark
+    public MoveBuffer frameStewart(MoveCounter counter) {
+        return count(counter, HanoiSolver.solveUncached(HanoiAlgorithm.FRAME_STEWART, numDisks, 4));
+    }
+
+    @Benchmark
+    public MoveBuffer dynamicProgramming(MoveCounter counter) {
+        return count(counter, HanoiSolver.solveUncached(HanoiAlgorithm.DYNAMIC_PROGRAMMING, numDisks, 4));
+    }
+
+    @Benchmark
+    public MoveBuffer simpleDivideAndConquer(MoveCounter counter) {
+        return count(counter, HanoiSolver.solveUncached(HanoiAlgorithm.SIMPLE_DIVIDE_AND_CONQUER, numDisks, 4));
+    }
+
+    @Benchmark
+    public MoveBuffer towerOfHanoi(MoveCounter counter) {
+        MoveBuffer moves = new MoveBuffer((int) ThreePegSolver.moveCount(numDisks));
+        ThreePegSolver.solve(numDisks, 0, 3, 1, 0, moves);
+        return count(counter, moves);
+    }
+
+    @Benchmark
+    public void moveGenerator(MoveCounter counter, Blackhole blackhole) {
+        MoveGenerator generator = MoveGenerator.of(HanoiAlgorithm.FRAME_STEWART, numDisks);
+        while (generator.hasNext()) {
+            blackhole.consume(generator.next());
+            counter.moves++;
+        }
+    }
+
+    @Benchmark
+    public MoveBuffer parallelGenerator(MoveCounter counter) {
+        return count(counter, parallelGenerator.generate(HanoiAlgorithm.FRAME_STEWART, numDisks));
+    }
+
+    private static MoveBuffer count(MoveCounter counter, MoveBuffer moves) {
+        counter.moves += moves.size();
+        return moves;
+    }
+}
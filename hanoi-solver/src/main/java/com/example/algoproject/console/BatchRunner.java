@@ -0,0 +1,569 @@
+package com.example.algoproject.console;
+
+import com.example.algoproject.solver.ConfigurationSolver;
+import com.example.algoproject.solver.HanoiAlgorithm;
+import com.example.algoproject.solver.HanoiSolver;
+import com.example.algoproject.solver.MoveBuffer;
+import com.example.algoproject.solver.MoveSink;
+import com.example.algoproject.solver.MoveVerifier;
+import com.example.algoproject.solver.NativeMoveBuffer;
+import com.example.algoproject.solver.SolverMetrics;
+import com.example.algoproject.solver.SolverTrace;
+import com.example.algoproject.solver.StateSpaceSearch;
+import com.example.algoproject.solver.io.MoveFormat;
+import com.example.algoproject.solver.io.MoveWriter;
+import com.example.algoproject.solver.io.SolutionFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Non-interactive mode of {@link TowerOfHanoiConsole}: sweeps algorithms and disk counts in
+ * one JVM and prints one CSV or JSON row per timed run.
+ */
+final class BatchRunner {
+    static final String USAGE = String.join("\n",
+            "Usage: TowerOfHanoiConsole [options]",
+            "  --algorithm=LIST   frame-stewart, dynamic-programming, divide-and-conquer or all (default frame-stewart)",
+            "  --disks=N|FROM-TO  disk counts to sweep (default 3-10)",
+            "  --pegs=P           number of pegs, other than 4 only with frame-stewart (default 4)",
+            "  --output=MODE      none (solve only), count (move count only) or moves (print every move) (default none)",
+            "  --store=MODE       none (stream the moves), heap (whole solution in a move buffer, under 2^31 moves)",
+            "                     or native (whole solution off-heap, freed after each run) (default none)",
+            "  --repeat=N         timed runs per disk count (default 1)",
+            "  --warmup=N         untimed runs per disk count before the timed ones (default 0)",
+            "  --format=FORMAT    csv or json, one JSON object per line (default csv)",
+            "  --moves-file=PATH  write the moves of --output=moves to PATH instead of standard output",
+            "  --move-format=FMT  text, compact or binary (default text)",
+            "  --solution-file=PATH  also save every timed run as a solution file, the last run is kept",
+            "  --replay=PATH      print the moves of a solution file instead of solving, in --move-format",
+            "  --from=I           first move to replay, 0-based (default 0)",
+            "  --count=N          number of moves to replay (default all)",
+            "  --verify=BOOL      check every move and the final state, as part of the timed run (default false)",
+            "  --start=PEGS       solve optimally from this configuration: one peg 1-4 per disk, smallest first",
+            "  --goal=PEGS        goal configuration of --start, same form (default all disks on peg 4)",
+            "  --pdb-dir=PATH     where the pattern databases of --start are kept (default <tmpdir>/hanoi-pdb)",
+            "  --exhaustive=BOOL  breadth-first search of every configuration for each disk count, checks the",
+            "                     algorithms' move counts against it (default false)",
+            "  --diameter=BOOL    with --exhaustive, also search from every configuration for the diameter",
+            "  --bfs-dir=PATH     keep the exhaustive search on disk in PATH, resuming an interrupted one",
+            "  --serve=PORT       run the solver HTTP service on localhost:PORT instead, see SolverService",
+            "  --max-solves=N     solves and verifications the service runs at once (default: processors)",
+            "  --metrics=BOOL     time and count the timed runs, summary on standard error (default false)",
+            "  --jfr=PATH         also record the solver events to a Flight Recorder file, implies --metrics",
+            "  --trace=LEVEL      off, summary, splits or full: print the solver's decisions to standard error (default off)",
+            "  --trace-depth=N    deepest recursion level whose splits --trace=splits prints (default " + SolverTrace.DEFAULT_MAX_DEPTH + ")");
+
+    enum OutputMode { NONE, COUNT, MOVES }
+
+    enum Format { CSV, JSON }
+
+    enum Store { NONE, HEAP, NATIVE }
+
+    private final List<HanoiAlgorithm> algorithms = new ArrayList<>();
+    private int minDisks = 3;
+    private int maxDisks = 10;
+    private int pegs = 4;
+    private OutputMode output = OutputMode.NONE;
+    private Store store = Store.NONE;
+    private int repeat = 1;
+    private int warmup = 0;
+    private Format format = Format.CSV;
+    private Path movesFile;
+    private MoveFormat moveFormat = MoveFormat.TEXT;
+    private Path solutionFile;
+    private Path replayFile;
+    private long replayFrom = 0;
+    private long replayCount = -1;
+    private boolean verify;
+    private int[] startConfiguration;
+    private int[] goalConfiguration;
+    private Path patternDirectory = Path.of(System.getProperty("java.io.tmpdir"), "hanoi-pdb");
+    private boolean exhaustive;
+    private boolean diameter;
+    private Path searchDirectory;
+    private int servePort = -1;
+    private int maxSolves = Runtime.getRuntime().availableProcessors();
+    private boolean metrics;
+    private Path recordingFile;
+    private SolverTrace.Level trace = SolverTrace.Level.OFF;
+    private int traceDepth = SolverTrace.DEFAULT_MAX_DEPTH;
+    private final PrintStream out;
+
+    private BatchRunner(PrintStream out) {
+        this.out = out;
+    }
+
+    static void run(String[] args) {
+        BatchRunner runner;
+        try {
+            runner = parse(args, System.out);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        try {
+            runner.run();
+        } catch (ArithmeticException e) {
+            // A move count beyond the long range, the disk counts asked for are too large
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        } catch (IOException | IllegalStateException e) {
+            System.err.println("Batch run failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    static BatchRunner parse(String[] args, PrintStream out) {
+        BatchRunner runner = new BatchRunner(out);
+        for (String arg : args) {
+            int split = arg.indexOf('=');
+            if (!arg.startsWith("--") || split < 0) {
+                throw new IllegalArgumentException("Invalid argument: " + arg);
+            }
+            String name = arg.substring(2, split);
+            String value = arg.substring(split + 1);
+            switch (name) {
+                case "algorithm" -> runner.parseAlgorithms(value);
+                case "disks" -> runner.parseDisks(value);
+                case "pegs" -> runner.pegs = parseInt(name, value, 3);
+                case "output" -> runner.output = parseEnum(OutputMode.class, name, value);
+                case "store" -> runner.store = parseEnum(Store.class, name, value);
+                case "repeat" -> runner.repeat = parseInt(name, value, 1);
+                case "warmup" -> runner.warmup = parseInt(name, value, 0);
+                case "format" -> runner.format = parseEnum(Format.class, name, value);
+                case "moves-file" -> runner.movesFile = Path.of(value);
+                case "move-format" -> runner.moveFormat = parseEnum(MoveFormat.class, name, value);
+                case "solution-file" -> runner.solutionFile = Path.of(value);
+                case "replay" -> runner.replayFile = Path.of(value);
+                case "from" -> runner.replayFrom = parseLong(name, value);
+                case "count" -> runner.replayCount = parseLong(name, value);
+                case "verify" -> runner.verify = parseBoolean(name, value);
+                case "start" -> runner.startConfiguration = parseConfiguration(name, value);
+                case "goal" -> runner.goalConfiguration = parseConfiguration(name, value);
+                case "pdb-dir" -> runner.patternDirectory = Path.of(value);
+                case "exhaustive" -> runner.exhaustive = parseBoolean(name, value);
+                case "diameter" -> runner.diameter = parseBoolean(name, value);
+                case "bfs-dir" -> runner.searchDirectory = Path.of(value);
+                case "serve" -> runner.servePort = parseInt(name, value, 0);
+                case "max-solves" -> runner.maxSolves = parseInt(name, value, 1);
+                case "metrics" -> runner.metrics = parseBoolean(name, value);
+                case "jfr" -> runner.recordingFile = Path.of(value);
+                case "trace" -> runner.trace = SolverTrace.parseLevel(value);
+                case "trace-depth" -> runner.traceDepth = parseInt(name, value, 0);
+                default -> throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+
+        if (runner.algorithms.isEmpty()) {
+            runner.algorithms.add(HanoiAlgorithm.FRAME_STEWART);
+        }
+        if (runner.pegs != 4 && !runner.algorithms.equals(List.of(HanoiAlgorithm.FRAME_STEWART))) {
+            throw new IllegalArgumentException("Only frame-stewart supports a peg count other than 4");
+        }
+        if (runner.solutionFile != null && runner.output == OutputMode.COUNT) {
+            throw new IllegalArgumentException("--solution-file needs the moves, it can't be used with --output=count");
+        }
+        if (runner.startConfiguration != null || runner.goalConfiguration != null) {
+            runner.completeConfigurations();
+        }
+        if (runner.exhaustive && (runner.pegs != 4 || runner.maxDisks > StateSpaceSearch.MAX_DISKS)) {
+            throw new IllegalArgumentException("--exhaustive needs 4 pegs and at most " + StateSpaceSearch.MAX_DISKS + " disks");
+        }
+        if (runner.diameter && runner.maxDisks > StateSpaceSearch.MAX_DIAMETER_DISKS) {
+            throw new IllegalArgumentException("--diameter supports at most " + StateSpaceSearch.MAX_DIAMETER_DISKS + " disks");
+        }
+        if (runner.servePort > 0xFFFF) {
+            throw new IllegalArgumentException("--serve must be a port between 0 and 65535: " + runner.servePort);
+        }
+        if (runner.verify && runner.replayFile == null && runner.maxDisks > MoveVerifier.MAX_DISKS) {
+            throw new IllegalArgumentException("--verify supports at most " + MoveVerifier.MAX_DISKS + " disks");
+        }
+        return runner;
+    }
+
+    void run() throws IOException {
+        boolean instrumented = metrics || recordingFile != null;
+        if (instrumented) {
+            SolverMetrics.enable(recordingFile);
+        }
+        SolverTrace.start(trace, System.err, traceDepth, SolverTrace.DEFAULT_CAPACITY);
+        if (servePort >= 0) {
+            // The server's dispatcher thread keeps the JVM running, a recording is written on exit
+            SolverService service = SolverService.start(servePort, maxSolves);
+            System.err.println("# Serving on http://" + service.address().getHostString() + ":" + service.address().getPort() + "/");
+            return;
+        }
+        try {
+            runLocal();
+        } finally {
+            SolverTrace.stop();
+            if (instrumented) {
+                Path recorded = SolverMetrics.disable();
+                System.err.println("# metrics: " + SolverMetrics.snapshot().summary());
+                if (recorded != null) {
+                    System.err.println("# recording: " + recorded);
+                }
+            }
+        }
+    }
+
+    private void runLocal() throws IOException {
+        if (replayFile != null) {
+            replay();
+            return;
+        }
+        if (startConfiguration != null) {
+            runConfiguration();
+            return;
+        }
+        if (exhaustive) {
+            runExhaustive();
+            return;
+        }
+        printHeader();
+        for (HanoiAlgorithm algorithm : algorithms) {
+            for (int n = minDisks; n <= maxDisks; n++) {
+                for (int i = 0; i < warmup; i++) {
+                    solve(algorithm, n, null);
+                }
+                for (int i = 1; i <= repeat; i++) {
+                    long start;
+                    String moves;
+                    if (output == OutputMode.MOVES) {
+                        out.flush();
+                        start = System.nanoTime();
+                        try (MoveWriter writer = movesFile != null
+                                ? MoveWriter.create(movesFile, moveFormat)
+                                : MoveWriter.toStandardOutput(moveFormat)) {
+                            moves = solveToFile(algorithm, n, writer);
+                        }
+                    } else {
+                        start = System.nanoTime();
+                        moves = solveToFile(algorithm, n, null);
+                    }
+                    long nanos = System.nanoTime() - start;
+                    printRow(optionName(algorithm), n, i, moves, nanos);
+                }
+            }
+        }
+        out.flush();
+    }
+
+    private String solveToFile(HanoiAlgorithm algorithm, int n, MoveSink moveOutput) throws IOException {
+        MoveVerifier verifier = verify && output != OutputMode.COUNT ? new MoveVerifier(n, pegs) : null;
+        MoveSink sink = tee(moveOutput, verifier);
+        String moves;
+        SolverMetrics.Phase phase = output == OutputMode.MOVES ? SolverMetrics.Phase.OUTPUT : SolverMetrics.Phase.GENERATE;
+        try (SolverMetrics.Span span = SolverMetrics.begin(phase, algorithm.name(), n)) {
+            if (solutionFile == null) {
+                moves = solve(algorithm, n, sink);
+            } else {
+                try (SolutionFile.Writer writer = SolutionFile.create(solutionFile, algorithm.name(), n, pegs)) {
+                    moves = solve(algorithm, n, tee(sink, writer));
+                }
+            }
+            if (output != OutputMode.COUNT) {
+                span.moves(Long.parseLong(moves));
+            }
+        }
+        if (verifier != null && !verifier.isSolved()) {
+            throw new IllegalStateException(optionName(algorithm) + " with " + n + " disks: " + verifier.report());
+        }
+        return moves;
+    }
+
+    private static MoveSink tee(MoveSink first, MoveSink second) {
+        if (first == null) return second;
+        if (second == null) return first;
+        return (from, to, disk) -> {
+            first.move(from, to, disk);
+            second.move(from, to, disk);
+        };
+    }
+
+    // Optimal solve between two configurations, reported as algorithm "a-star"
+    private void runConfiguration() throws IOException {
+        printHeader();
+        int n = startConfiguration.length;
+        for (int i = 0; i < warmup; i++) {
+            ConfigurationSolver.solve(startConfiguration, goalConfiguration, ConfigurationSolver.DEFAULT_GROUP_SIZE, patternDirectory);
+        }
+        for (int i = 1; i <= repeat; i++) {
+            out.flush();
+            long start = System.nanoTime();
+            MoveBuffer moves = ConfigurationSolver.solve(startConfiguration, goalConfiguration,
+                    ConfigurationSolver.DEFAULT_GROUP_SIZE, patternDirectory);
+            if (verify) {
+                MoveVerifier verifier = new MoveVerifier(4, startConfiguration, goalConfiguration);
+                moves.forEachMove(verifier);
+                if (!verifier.isSolved()) {
+                    throw new IllegalStateException("a-star with " + n + " disks: " + verifier.report());
+                }
+            }
+            if (solutionFile != null) {
+                try (SolutionFile.Writer writer = SolutionFile.create(solutionFile, "A_STAR", startConfiguration, 4)) {
+                    moves.forEachMove(writer);
+                }
+            }
+            if (output == OutputMode.MOVES) {
+                try (MoveWriter writer = movesFile != null
+                        ? MoveWriter.create(movesFile, moveFormat)
+                        : MoveWriter.toStandardOutput(moveFormat)) {
+                    writer.write(moves);
+                }
+            }
+            long nanos = System.nanoTime() - start;
+            printRow("a-star", n, i, Integer.toString(moves.size()), nanos);
+        }
+        out.flush();
+    }
+
+    // One breadth-first search per disk count, reported as algorithm "bfs"; the selected
+    // algorithms must reach the goal in exactly the searched distance
+    private void runExhaustive() throws IOException {
+        printHeader();
+        for (int n = minDisks; n <= maxDisks; n++) {
+            out.flush();
+            long start = System.nanoTime();
+            int distance;
+            int eccentricity;
+            long configurations = 0;
+            try (StateSpaceSearch search = searchDirectory != null
+                    ? StateSpaceSearch.onDisk(StateSpaceSearch.tower(n), searchDirectory)
+                    : StateSpaceSearch.inMemory(StateSpaceSearch.tower(n))) {
+                search.run();
+                distance = search.goalDistance();
+                eccentricity = search.eccentricity();
+                for (long size : search.layerSizes()) {
+                    configurations += size;
+                }
+            }
+            long nanos = System.nanoTime() - start;
+            printRow("bfs", n, 1, Integer.toString(distance), nanos);
+
+            StringBuilder summary = new StringBuilder("# " + n + " disks: distance " + distance);
+            for (HanoiAlgorithm algorithm : algorithms) {
+                long moves = algorithm.table(n).moveCount(n);
+                summary.append(", ").append(optionName(algorithm)).append(' ').append(moves);
+                if (moves != distance) {
+                    // Only Frame-Stewart and its DP form claim optimality, divide and conquer just gets a gap
+                    if (algorithm != HanoiAlgorithm.SIMPLE_DIVIDE_AND_CONQUER) {
+                        throw new IllegalStateException(optionName(algorithm) + " with " + n + " disks takes "
+                                + moves + " moves, the shortest solution has " + distance);
+                    }
+                    summary.append(" (+").append(moves - distance).append(')');
+                }
+            }
+            summary.append(", eccentricity ").append(eccentricity).append(", ").append(configurations).append(" configurations");
+            if (diameter) {
+                summary.append(", diameter ").append(StateSpaceSearch.diameter(n));
+            }
+            System.err.println(summary);
+        }
+        out.flush();
+    }
+
+    // A missing side of --start/--goal is the usual tower on peg 1 or peg 4
+    private void completeConfigurations() {
+        if (pegs != 4) {
+            throw new IllegalArgumentException("--start and --goal need 4 pegs");
+        }
+        int n = startConfiguration != null ? startConfiguration.length : goalConfiguration.length;
+        if (startConfiguration == null) {
+            startConfiguration = new int[n];
+        }
+        if (goalConfiguration == null) {
+            goalConfiguration = new int[n];
+            Arrays.fill(goalConfiguration, 3);
+        }
+        if (goalConfiguration.length != n) {
+            throw new IllegalArgumentException("--start and --goal must have the same number of disks");
+        }
+    }
+
+    // Moves are read straight from the mapping, the file is never loaded on the heap
+    private void replay() throws IOException {
+        try (SolutionFile solution = SolutionFile.open(replayFile)) {
+            long end = replayCount < 0 ? solution.moveCount() : Math.min(solution.moveCount(), replayFrom + replayCount);
+            if (replayFrom > end) {
+                throw new IOException("--from=" + replayFrom + " is past the " + solution.moveCount() + " moves of " + replayFile);
+            }
+            System.err.println("# " + solution.algorithm() + ", " + solution.numDisks() + " disks, "
+                    + solution.pegs() + " pegs, " + solution.moveCount() + " moves");
+            if (verify) {
+                // The whole file, whatever slice is printed
+                MoveVerifier verifier = new MoveVerifier(solution.numDisks(), solution.pegs());
+                solution.replay(0, solution.moveCount(), verifier);
+                System.err.println("# " + verifier.report());
+                if (!verifier.isSolved()) {
+                    throw new IllegalStateException(replayFile + ": " + verifier.report());
+                }
+            }
+            try (MoveWriter writer = movesFile != null
+                    ? MoveWriter.create(movesFile, moveFormat)
+                    : MoveWriter.toStandardOutput(moveFormat)) {
+                writer.numberFrom(replayFrom);
+                solution.replay(replayFrom, end, writer);
+            }
+        }
+    }
+
+    // Returns the move count as text, it may not fit in a long in count mode
+    private String solve(HanoiAlgorithm algorithm, int n, MoveSink moveOutput) {
+        if (output == OutputMode.COUNT) {
+            return HanoiSolver.exactMoveCount(algorithm, n, pegs);
+        }
+
+        switch (store) {
+            case HEAP -> {
+                MoveBuffer moves = HanoiSolver.solveUncached(algorithm, n, pegs);
+                if (moveOutput != null) {
+                    moves.forEachMove(moveOutput);
+                }
+                return Integer.toString(moves.size());
+            }
+            case NATIVE -> {
+                try (NativeMoveBuffer moves = HanoiSolver.solveNative(algorithm, n, pegs)) {
+                    if (moveOutput != null) {
+                        moves.forEachMove(moveOutput);
+                    }
+                    return Long.toString(moves.size());
+                }
+            }
+            default -> {
+                MoveCounter counter = new MoveCounter(moveOutput);
+                HanoiSolver.solve(algorithm, n, pegs, counter);
+                return Long.toString(counter.moves);
+            }
+        }
+    }
+
+    private void printHeader() {
+        if (format == Format.CSV) {
+            out.println("algorithm,disks,pegs,output,run,moves,nanos,moves_per_second");
+        }
+    }
+
+    private void printRow(String name, int n, int run, String moves, long nanos) {
+        String outputName = optionName(output);
+        String rate = output == OutputMode.COUNT || nanos == 0
+                ? ""
+                : String.format(Locale.ROOT, "%.1f", Long.parseLong(moves) * 1e9 / nanos);
+
+        if (format == Format.CSV) {
+            out.println(name + "," + n + "," + pegs + "," + outputName + "," + run + "," + moves + "," + nanos + "," + rate);
+        } else {
+            out.println("{\"algorithm\":\"" + name + "\",\"disks\":" + n + ",\"pegs\":" + pegs
+                    + ",\"output\":\"" + outputName + "\",\"run\":" + run + ",\"moves\":" + moves
+                    + ",\"nanos\":" + nanos + ",\"moves_per_second\":" + (rate.isEmpty() ? "null" : rate) + "}");
+        }
+    }
+
+    private void parseAlgorithms(String value) {
+        for (String name : value.split(",")) {
+            if (name.equalsIgnoreCase("all")) {
+                algorithms.addAll(List.of(HanoiAlgorithm.values()));
+            } else if (name.equalsIgnoreCase("divide-and-conquer")) {
+                algorithms.add(HanoiAlgorithm.SIMPLE_DIVIDE_AND_CONQUER);
+            } else {
+                algorithms.add(parseEnum(HanoiAlgorithm.class, "algorithm", name));
+            }
+        }
+    }
+
+    private void parseDisks(String value) {
+        int dash = value.indexOf('-');
+        if (dash < 0) {
+            minDisks = maxDisks = parseInt("disks", value, 1);
+        } else {
+            minDisks = parseInt("disks", value.substring(0, dash), 1);
+            maxDisks = parseInt("disks", value.substring(dash + 1), minDisks);
+        }
+    }
+
+    private static int parseInt(String name, String value, int min) {
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed < min) {
+                throw new IllegalArgumentException("--" + name + " must be at least " + min + ": " + value);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("--" + name + " is not a number: " + value);
+        }
+    }
+
+    private static long parseLong(String name, String value) {
+        try {
+            long parsed = Long.parseLong(value.trim());
+            if (parsed < 0) {
+                throw new IllegalArgumentException("--" + name + " must be at least 0: " + value);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("--" + name + " is not a number: " + value);
+        }
+    }
+
+    private static int[] parseConfiguration(String name, String value) {
+        String pegs = value.trim();
+        if (pegs.isEmpty() || pegs.length() > ConfigurationSolver.MAX_DISKS) {
+            throw new IllegalArgumentException("--" + name + " must name 1 to " + ConfigurationSolver.MAX_DISKS + " disks: " + value);
+        }
+        int[] configuration = new int[pegs.length()];
+        for (int disk = 0; disk < configuration.length; disk++) {
+            char peg = pegs.charAt(disk);
+            if (peg < '1' || peg > '4') {
+                throw new IllegalArgumentException("--" + name + " pegs are 1 to 4: " + value);
+            }
+            configuration[disk] = peg - '1';
+        }
+        return configuration;
+    }
+
+    private static boolean parseBoolean(String name, String value) {
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "true", "yes", "on" -> true;
+            case "false", "no", "off" -> false;
+            default -> throw new IllegalArgumentException("Invalid --" + name + ": " + value);
+        };
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String name, String value) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid --" + name + ": " + value);
+        }
+    }
+
+    private static String optionName(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    private static final class MoveCounter implements MoveSink {
+        private final MoveSink delegate;
+        long moves;
+
+        MoveCounter(MoveSink delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void move(int fromPeg, int toPeg, int diskIndex) {
+            moves++;
+            if (delegate != null) {
+                delegate.move(fromPeg, toPeg, diskIndex);
+            }
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.example.algoproject.console;
+
+import com.example.algoproject.solver.HanoiAlgorithm;
+import com.example.algoproject.solver.HanoiSolver;
+import com.example.algoproject.solver.MoveBuffer;
+import com.example.algoproject.solver.MoveVerifier;
+import com.example.algoproject.solver.MultiPegFrameStewart;
+import com.example.algoproject.solver.SolutionDag;
+import com.example.algoproject.solver.SolverMetrics;
+import com.example.algoproject.solver.io.MoveFormat;
+import com.example.algoproject.solver.io.MoveReader;
+import com.example.algoproject.solver.io.MoveWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Local HTTP service for the solvers, started with {@code --serve=PORT}. Every request runs
+ * on its own virtual thread. Moves are streamed through a {@link MoveWriter} or
+ * {@link MoveReader} straight into or out of a chunked exchange body, so a request holds one
+ * 1 MB buffer whatever the number of moves.
+ * <pre>
+ * GET  /count?disks=N[&amp;pegs=P][&amp;algorithm=A]               move count, exact for frame-stewart
+ * GET  /solve?disks=N[&amp;pegs=P][&amp;algorithm=A][&amp;format=F]    the moves, F is text, compact or binary
+ *            [&amp;from=I][&amp;count=C]                         only C moves from move I (0-based) on
+ * POST /verify?disks=N[&amp;pegs=P][&amp;format=F]                 checks the moves in the body: 200 when
+ *                                                          they solve the puzzle, 422 otherwise
+ * </pre>
+ * Solves and verifications wait a short while for one of {@code maxSolves} permits and are
+ * turned away with 503 when none frees up, and so are counts on other than 4 pegs, which may
+ * have to build the multi-peg table; 4-peg counts are cheap and always served.
+ */
+final class SolverService {
+    private static final int MAX_DISKS = MoveBuffer.MAX_DISKS;  // disk indices of packed moves
+    private static final long MAX_TABLE_WORK = 1L << 30;  // disks^2 * pegs of a multi-peg table build
+    private static final long ADMISSION_WAIT_MILLIS = 2_000;
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore admission;
+
+    private SolverService(HttpServer server, int maxSolves) {
+        this.server = server;
+        this.admission = new Semaphore(maxSolves);
+    }
+
+    /** Starts serving on the loopback address, port 0 picks a free port. */
+    static SolverService start(int port, int maxSolves) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        SolverService service = new SolverService(server, maxSolves);
+        server.createContext("/count", service.endpoint("GET", SolverService::isMultiPeg, service::count));
+        server.createContext("/solve", service.endpoint("GET", query -> true, service::solve));
+        server.createContext("/verify", service.endpoint("POST", query -> true, service::verify));
+        server.setExecutor(service.executor);
+        server.start();
+        return service;
+    }
+
+    InetSocketAddress address() {
+        return server.getAddress();
+    }
+
+    void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @FunctionalInterface
+    private interface Endpoint {
+        void serve(HttpExchange exchange, Map<String, String> query) throws IOException;
+    }
+
+    // Heavy requests, as told by their query, need one of the admission permits
+    private HttpHandler endpoint(String method, Predicate<Map<String, String>> isHeavy, Endpoint endpoint) {
+        return exchange -> {
+            try {
+                if (!exchange.getRequestMethod().equals(method)) {
+                    exchange.getResponseHeaders().set("Allow", method);
+                    sendText(exchange, 405, "Use " + method + "\n");
+                    return;
+                }
+                Map<String, String> query = query(exchange);
+                boolean heavy = isHeavy.test(query);
+                if (heavy && !admit()) {
+                    exchange.getResponseHeaders().set("Retry-After", "1");
+                    sendText(exchange, 503, "Too many solves running, try again later\n");
+                    return;
+                }
+                try {
+                    endpoint.serve(exchange, query);
+                } catch (IllegalArgumentException | ArithmeticException e) {
+                    // Thrown while checking the request, before any response header is sent
+                    sendText(exchange, 400, e.getMessage() + "\n");
+                } finally {
+                    if (heavy) {
+                        admission.release();
+                    }
+                }
+            } catch (UncheckedIOException e) {
+                // The client went away in the middle of a streamed response
+            } finally {
+                exchange.close();
+            }
+        };
+    }
+
+    private boolean admit() {
+        try {
+            return admission.tryAcquire(ADMISSION_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void count(HttpExchange exchange, Map<String, String> query) throws IOException {
+        HanoiAlgorithm algorithm = algorithm(query);
+        int pegs = pegs(query, algorithm);
+        int n = disks(query, pegs);
+        sendText(exchange, 200, HanoiSolver.exactMoveCount(algorithm, n, pegs) + "\n");
+    }
+
+    private void solve(HttpExchange exchange, Map<String, String> query) throws IOException {
+        HanoiAlgorithm algorithm = algorithm(query);
+        int pegs = pegs(query, algorithm);
+        int n = disks(query, pegs);
+        MoveFormat format = format(query, pegs);
+        HanoiSolver.moveCount(algorithm, n, pegs);  // 400 before building anything when it overflows
+
+        // A range is cut from the dag without generating the moves before it
+        SolutionDag solution = HanoiSolver.dag(algorithm, n, pegs);
+        long from = longParameter(query, "from", 0, solution.length());
+        long count = Math.min(longParameter(query, "count", solution.length(), Long.MAX_VALUE), solution.length() - from);
+        SolutionDag moves = solution.slice(from, from + count);
+
+        exchange.getResponseHeaders().set("Content-Type", contentType(format));
+        exchange.getResponseHeaders().set("X-Move-Count", Long.toString(count));
+        exchange.sendResponseHeaders(200, 0);  // length 0: chunked
+        try (SolverMetrics.Span span = SolverMetrics.begin(SolverMetrics.Phase.OUTPUT, algorithm.name(), n);
+             MoveWriter writer = new MoveWriter(Channels.newChannel(exchange.getResponseBody()), format)) {
+            writer.numberFrom(from);
+            moves.drainTo(writer);
+            span.moves(count);
+        }
+    }
+
+    private void verify(HttpExchange exchange, Map<String, String> query) throws IOException {
+        int n = intParameter(query, "disks", -1, 1, MoveVerifier.MAX_DISKS);
+        int pegs = intParameter(query, "pegs", 4, 3, MultiPegFrameStewart.MAX_PEGS);
+        MoveFormat format = format(query, pegs);
+
+        MoveVerifier verifier = new MoveVerifier(n, pegs);
+        try (MoveReader reader = new MoveReader(Channels.newChannel(exchange.getRequestBody()), format, n)) {
+            reader.readAll(verifier);
+        } catch (IOException e) {
+            sendText(exchange, 400, e.getMessage() + "\n");
+            return;
+        }
+        sendText(exchange, verifier.isSolved() ? 200 : 422, verifier.report() + "\n");
+    }
+
+    private static void sendText(HttpExchange exchange, int status, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=US-ASCII");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(bytes);
+        }
+    }
+
+    private static String contentType(MoveFormat format) {
+        return format == MoveFormat.BINARY ? "application/octet-stream" : "text/plain; charset=US-ASCII";
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> query = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) {
+            return query;
+        }
+        for (String pair : raw.split("&")) {
+            int split = pair.indexOf('=');
+            if (split > 0) {
+                query.put(URLDecoder.decode(pair.substring(0, split), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(split + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    private static HanoiAlgorithm algorithm(Map<String, String> query) {
+        String name = query.getOrDefault("algorithm", "frame-stewart").trim().toUpperCase(Locale.ROOT).replace('-', '_');
+        if (name.equals("DIVIDE_AND_CONQUER")) {
+            return HanoiAlgorithm.SIMPLE_DIVIDE_AND_CONQUER;
+        }
+        try {
+            return HanoiAlgorithm.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown algorithm: " + query.get("algorithm"));
+        }
+    }
+
+    private static int pegs(Map<String, String> query, HanoiAlgorithm algorithm) {
+        int pegs = intParameter(query, "pegs", 4, 3, MultiPegFrameStewart.MAX_PEGS);
+        if (pegs != 4 && algorithm != HanoiAlgorithm.FRAME_STEWART) {
+            throw new IllegalArgumentException("Only frame-stewart supports a peg count other than 4");
+        }
+        return pegs;
+    }
+
+    // Counts on other than 4 pegs come from a table built in O(n^2 pegs), kept for the process
+    private static boolean isMultiPeg(Map<String, String> query) {
+        return !query.getOrDefault("pegs", "4").trim().equals("4");
+    }
+
+    /**
+     * Disk count, capped for other than 4 pegs where it picks the size of the multi-peg
+     * table: at most the disks whose count fits in a long and a bounded table build.
+     */
+    private static int disks(Map<String, String> query, int pegs) {
+        if (pegs == 4) {
+            return intParameter(query, "disks", -1, 1, MAX_DISKS);
+        }
+        int buildable = (int) Math.min(MAX_DISKS, Math.sqrt((double) MAX_TABLE_WORK / pegs));
+        return intParameter(query, "disks", -1, 1, Math.min(buildable, MultiPegFrameStewart.maxDisks(pegs)));
+    }
+
+    private static MoveFormat format(Map<String, String> query, int pegs) {
+        MoveFormat format;
+        try {
+            format = MoveFormat.valueOf(query.getOrDefault("format", "text").trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown format: " + query.get("format"));
+        }
+        if (format == MoveFormat.BINARY && pegs > 16) {
+            throw new IllegalArgumentException("Binary format holds at most 16 pegs");
+        }
+        return format;
+    }
+
+    private static long longParameter(Map<String, String> query, String name, long defaultValue, long max) {
+        String value = query.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            long parsed = Long.parseLong(value.trim());
+            if (parsed < 0 || parsed > max) {
+                throw new IllegalArgumentException(name + " must be between 0 and " + max + ": " + value);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " is not a number: " + value);
+        }
+    }
+
+    // A missing parameter takes the default, -1 for a required one
+    private static int intParameter(Map<String, String> query, String name, int defaultValue, int min, int max) {
+        String value = query.get(name);
+        if (value == null) {
+            if (defaultValue < 0) {
+                throw new IllegalArgumentException("Missing parameter: " + name);
+            }
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed < min || parsed > max) {
+                throw new IllegalArgumentException(name + " must be between " + min + " and " + max + ": " + value);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " is not a number: " + value);
+        }
+    }
+}
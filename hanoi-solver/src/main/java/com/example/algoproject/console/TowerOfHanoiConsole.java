@@ -0,0 +1,154 @@
+package com.example.algoproject.console;
+
+import com.example.algoproject.solver.HanoiAlgorithm;
+import com.example.algoproject.solver.HanoiSolver;
+import com.example.algoproject.solver.MoveBuffer;
+import com.example.algoproject.solver.MoveVerifier;
+import com.example.algoproject.solver.SolverMetrics;
+import com.example.algoproject.solver.SolverTrace;
+import com.example.algoproject.solver.io.MoveFormat;
+import com.example.algoproject.solver.io.MoveWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.*;
+
+public class TowerOfHanoiConsole {
+    public static void main(String[] args) {
+        // Any argument switches to the headless batch mode, see BatchRunner.USAGE
+        if (args.length > 0) {
+            BatchRunner.run(args);
+            return;
+        }
+
+        // -Dhanoi.metrics=true times the run, -Dhanoi.jfr=PATH also records it
+        String recording = System.getProperty("hanoi.jfr");
+        boolean instrumented = recording != null || Boolean.getBoolean("hanoi.metrics");
+        if (instrumented) {
+            try {
+                SolverMetrics.enable(recording != null ? Path.of(recording) : null);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        Scanner scanner = new Scanner(System.in);
+        System.out.println("Tower of Hanoi with Four Pegs");
+        System.out.println("-----------------------------");
+
+        // Get number of disks
+        System.out.print("Enter number of disks (3-10): ");
+        int numDisks = scanner.nextInt();
+        if (numDisks < 3 || numDisks > 10) {
+            System.out.println("Invalid number of disks. Using default (8).");
+            numDisks = 8;
+        }
+
+        // Menu for algorithm selection
+        System.out.println("\nSelect algorithm:");
+        System.out.println("1. Frame-Stewart Algorithm");
+        System.out.println("2. Dynamic Programming");
+        System.out.println("3. Simple Divide & Conquer");
+        System.out.print("Enter your choice (1-3): ");
+
+        int choice = scanner.nextInt();
+        scanner.close();
+
+
+        System.out.println("\nInitial state: All disks on Peg 1");
+
+
+        MoveBuffer moves;
+        long startTime = System.currentTimeMillis();
+
+        int n = numDisks;
+        HanoiAlgorithm algorithm;
+        switch (choice) {
+            case 1:
+                algorithm = HanoiAlgorithm.FRAME_STEWART;
+                break;
+            case 2:
+                algorithm = HanoiAlgorithm.DYNAMIC_PROGRAMMING;
+                break;
+            case 3:
+                algorithm = HanoiAlgorithm.SIMPLE_DIVIDE_AND_CONQUER;
+                break;
+            default:
+                System.out.println("Invalid choice. Using Frame-Stewart Algorithm.");
+                algorithm = HanoiAlgorithm.FRAME_STEWART;
+        }
+        System.out.println("\nSolving with " + algorithm.displayName() + "...");
+
+        // -Dhanoi.trace=summary|splits|full shows how the solver splits the problem
+        SolverTrace.start(SolverTrace.parseLevel(System.getProperty("hanoi.trace", "off")), System.out);
+
+        // Whole solutions are shared with the FX front end through the solution cache
+        SolverMetrics.Span generation = SolverMetrics.begin(SolverMetrics.Phase.GENERATE, algorithm.name(), n);
+        moves = HanoiSolver.solve(algorithm, n, 4);
+
+        generation.moves(moves.size());
+        generation.close();
+        long endTime = System.currentTimeMillis();
+        double computationTime = (endTime - startTime) / 1000.0;
+        SolverTrace.stop();
+
+        System.out.println("\nSolution found!");
+        System.out.println("Total moves: " + moves.size());
+        System.out.println("Computation time: " + computationTime + " seconds");
+        System.out.println("Verification: " + MoveVerifier.verify(numDisks, 4, moves).report());
+
+
+        System.out.println("\nExecuting solution (showing moves only):");
+        try (SolverMetrics.Span output = SolverMetrics.begin(SolverMetrics.Phase.OUTPUT, algorithm.name(), n)) {
+            executeAndPrintMoves(moves);
+            output.moves(moves.size());
+        }
+
+
+        System.out.println("\nComplexity Analysis:");
+        printComplexityAnalysis(choice, numDisks);
+
+        if (instrumented) {
+            Path recorded = SolverMetrics.disable();
+            System.out.println("\nMetrics: " + SolverMetrics.snapshot().summary());
+            if (recorded != null) {
+                System.out.println("Recording saved to " + recorded);
+            }
+        }
+    }
+
+    private static void executeAndPrintMoves(MoveBuffer moves) {
+        // Buffered channel output, the disk of every move is already in the buffer
+        try (MoveWriter writer = MoveWriter.toStandardOutput(MoveFormat.TEXT)) {
+            writer.write(moves);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void printComplexityAnalysis(int algorithm, int n) {
+        System.out.println("For n = " + n + " disks:");
+
+        switch (algorithm) {
+            case 1:
+                System.out.println("Frame-Stewart Algorithm:");
+                System.out.println("- Time Complexity: O(2^√(2n)) ≈ O(" + String.format("%.2f", Math.pow(2, Math.sqrt(2*n))) + ")");
+                System.out.println("- Space Complexity: O(2^√(2n))");
+                System.out.println("- This is much better than the standard O(2^n) = O(" + (1<<n) + ") solution");
+                break;
+            case 2:
+                System.out.println("Dynamic Programming Approach:");
+                System.out.println("- Time Complexity for building DP table: O(n²) = O(" + (n*n) + ")");
+                System.out.println("- Total Time Complexity: O(2^√(2n)) ≈ O(" + String.format("%.2f", Math.pow(2, Math.sqrt(2*n))) + ")");
+                System.out.println("- Space Complexity: O(2^√(2n))");
+                break;
+            case 3:
+                System.out.println("Simple Divide & Conquer:");
+                System.out.println("- Time Complexity: O(2^n) = O(" + (1<<n) + ")");
+                System.out.println("- Space Complexity: O(2^n)");
+                System.out.println("- This algorithm doesn't fully utilize the 4th peg");
+                break;
+        }
+    }
+}
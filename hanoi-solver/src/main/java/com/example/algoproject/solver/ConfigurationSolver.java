@@ -0,0 +1,382 @@
+package com.example.algoproject.solver;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Shortest move sequence between any two legal four-peg configurations, by breadth-first
+ * heuristic search.
+ * <p>
+ * A configuration of up to 32 disks is one {@code long}, two bits per disk (disk i in bits
+ * 2i and 2i+1). The heuristic splits the disks into groups of consecutive sizes and adds up
+ * their exact {@link PatternDatabase} distances; every move changes the distance of one
+ * group by at most one, so the heuristic is consistent. The full groups are shifted by every
+ * offset up to the remainder, from the smallest disk up to the largest disk down, and the
+ * largest sum is used.
+ * <p>
+ * The search builds the configurations one distance layer at a time and drops those whose
+ * f = g + h exceeds a bound, raising the bound by one until the goal is reached. With a
+ * consistent heuristic every kept configuration sits in the layer of its true distance, and
+ * because moves can be undone a new configuration can only repeat one of the layer before,
+ * its own or the next. Dropped children are kept in their layer, so raising the bound only
+ * expands what it newly admits and every configuration is expanded once, as with A*. Layers
+ * are sorted arrays of 8 bytes per configuration with no per-node bookkeeping, and the path
+ * is traced back through them from the goal.
+ */
+public final class ConfigurationSolver {
+    public static final int MAX_DISKS = 32;
+    public static final int DEFAULT_GROUP_SIZE = 13;  // 64 MB per table
+
+    private static final int PEGS = PatternDatabase.PEGS;
+    private static final long LOW_BITS = 0x5555_5555_5555_5555L;
+    private static final int CHUNK_STATES = 1 << 12;
+
+    private final int numDisks;
+    private final long goal;
+    private final long diskDigits;  // low bit of the digit of every disk
+    private final Partition[] partitions;
+    private long expanded;
+
+    /** Solver towards {@code goal}, the peg of every disk (0 is the smallest), with in-memory tables. */
+    public ConfigurationSolver(int[] goal) {
+        this(goal, DEFAULT_GROUP_SIZE, null);
+    }
+
+    /**
+     * @param groupSize         disks per pattern database, at most {@link PatternDatabase#MAX_DISKS}
+     * @param databaseDirectory where pattern databases are read from and written to, or null
+     */
+    public ConfigurationSolver(int[] goal, int groupSize, Path databaseDirectory) {
+        if (goal.length > MAX_DISKS) {
+            throw new IllegalArgumentException("At most " + MAX_DISKS + " disks: " + goal.length);
+        }
+        if (groupSize < 1 || groupSize > PatternDatabase.MAX_DISKS) {
+            throw new IllegalArgumentException("Group size must be between 1 and " + PatternDatabase.MAX_DISKS + ": " + groupSize);
+        }
+        this.numDisks = goal.length;
+        this.goal = pack(goal);
+        this.diskDigits = numDisks == 0 ? 0 : LOW_BITS >>> (Long.SIZE - 2 * numDisks);
+
+        // Full groups shifted by every offset up to the remainder, the smallest disks first
+        int remainder = numDisks % groupSize;
+        partitions = new Partition[remainder + 1];
+        for (int offset = 0; offset <= remainder; offset++) {
+            int[] starts = new int[numDisks / groupSize + 3];
+            int g = 1;
+            int from = 0;
+            if (offset > 0) {
+                starts[g++] = from = offset;
+            }
+            while (from + groupSize <= numDisks) {
+                starts[g++] = from += groupSize;
+            }
+            if (from < numDisks) {
+                starts[g++] = numDisks;
+            }
+            partitions[offset] = new Partition(goal, Arrays.copyOf(starts, g), databaseDirectory);
+        }
+    }
+
+    /** Optimal moves from {@code start} to {@code goal}, both given as the peg of every disk. */
+    public static MoveBuffer solve(int[] start, int[] goal) {
+        return solve(start, goal, DEFAULT_GROUP_SIZE, null);
+    }
+
+    /**
+     * Same, dropping the largest disks that start on their goal peg first: deleting such a
+     * disk from any solution leaves a legal one, so an optimal solution never moves it.
+     */
+    public static MoveBuffer solve(int[] start, int[] goal, int groupSize, Path databaseDirectory) {
+        if (start.length != goal.length) {
+            throw new IllegalArgumentException("Start has " + start.length + " disks, goal " + goal.length);
+        }
+        int disks = goal.length;
+        while (disks > 0 && start[disks - 1] == goal[disks - 1]) {
+            disks--;
+        }
+        if (disks == 0) {
+            return new MoveBuffer();
+        }
+        return new ConfigurationSolver(Arrays.copyOf(goal, disks), groupSize, databaseDirectory)
+                .solve(Arrays.copyOf(start, disks));
+    }
+
+    public MoveBuffer solve(int[] start) {
+        if (start.length != numDisks) {
+            throw new IllegalArgumentException("Start has " + start.length + " disks, goal " + numDisks);
+        }
+        return search(pack(start));
+    }
+
+    /** Lower bound on the moves from {@code state} to the goal. */
+    public int heuristic(int[] state) {
+        return heuristic(pack(state));
+    }
+
+    /** States expanded by the last {@link #solve}. */
+    public long expandedStates() {
+        return expanded;
+    }
+
+    private int heuristic(long state) {
+        int h = 0;
+        for (Partition partition : partitions) {
+            h = Math.max(h, partition.heuristic(state));
+        }
+        return h;
+    }
+
+    private MoveBuffer search(long start) {
+        expanded = 0;
+        List<Layer> layers = new ArrayList<>();
+        layers.add(new Layer(new long[]{start}));
+        long[] fresh = {start};
+        for (int bound = heuristic(start); ; bound++) {
+            for (Layer layer : layers) {
+                layer.raiseBound();
+            }
+            for (int g = 0; ; g++) {
+                if (Arrays.binarySearch(fresh, goal) >= 0) {
+                    return path(layers, g);
+                }
+                if (g + 1 == layers.size()) {
+                    if (fresh.length == 0) break;
+                    layers.add(new Layer(new long[0]));
+                }
+                expanded += fresh.length;
+                fresh = expand(layers, g, fresh, bound);
+            }
+            fresh = new long[0];
+        }
+    }
+
+    /**
+     * Adds to layer g + 1 the children of the configurations new in layer g and those dropped
+     * earlier that the bound now admits, keeping the rest for later bounds; returns the
+     * configurations new in layer g + 1, sorted.
+     */
+    private long[] expand(List<Layer> layers, int g, long[] fresh, int bound) {
+        long[] below = g > 0 ? layers.get(g - 1).states : new long[0];
+        long[] here = layers.get(g).states;
+        Layer next = layers.get(g + 1);
+        int chunks = (fresh.length + CHUNK_STATES - 1) / CHUNK_STATES;
+        // Per chunk: children within the bound, one over it and two over (a child's f is at
+        // most its parent's plus two)
+        long[][][] children = IntStream.range(0, chunks).parallel().mapToObj(chunk -> {
+            LongList[] found = {new LongList(), new LongList(), new LongList()};
+            int[] tops = new int[PEGS];
+            for (int i = chunk * CHUNK_STATES, end = Math.min(fresh.length, i + CHUNK_STATES); i < end; i++) {
+                long state = fresh[i];
+                topDisks(state, tops);
+                for (int from = 0; from < PEGS; from++) {
+                    int disk = tops[from];
+                    if (disk < 0) continue;
+                    for (int to = 0; to < PEGS; to++) {
+                        if (to == from || (tops[to] >= 0 && tops[to] < disk)) continue;
+                        long child = state ^ ((long) (from ^ to) << (2 * disk));
+                        found[Math.max(g + 1 + heuristic(child) - bound, 0)].add(child);
+                    }
+                }
+            }
+            return new long[][]{found[0].toArray(), found[1].toArray(), found[2].toArray()};
+        }).toArray(long[][][]::new);
+
+        long[] addedStates = sortedDistinct(next.admitted, children, 0);
+        for (long[] layer : new long[][]{below, here, next.states}) {
+            addedStates = without(addedStates, layer);
+        }
+        next.states = union(next.states, addedStates);
+        next.admitted = new long[0];
+        next.overByOne = sortedDistinct(next.overByOne, children, 1);
+        next.overByTwo = sortedDistinct(next.overByTwo, children, 2);
+        return addedStates;
+    }
+
+    // Sorted states not in the sorted layer
+    private static long[] without(long[] states, long[] layer) {
+        int kept = 0;
+        if ((long) states.length * 32 < layer.length) {
+            for (long state : states) {
+                if (Arrays.binarySearch(layer, state) < 0) {
+                    states[kept++] = state;
+                }
+            }
+        } else {
+            int j = 0;
+            for (long state : states) {
+                while (j < layer.length && layer[j] < state) {
+                    j++;
+                }
+                if (j == layer.length || layer[j] != state) {
+                    states[kept++] = state;
+                }
+            }
+        }
+        return kept == states.length ? states : Arrays.copyOf(states, kept);
+    }
+
+    // Sorted base with part `part` of every chunk, without duplicates
+    private static long[] sortedDistinct(long[] base, long[][][] chunks, int part) {
+        long total = 0;
+        for (long[][] chunk : chunks) {
+            total += chunk[part].length;
+        }
+        if (total == 0) return base;
+        long[] added = new long[Math.toIntExact(total)];
+        int size = 0;
+        for (long[][] chunk : chunks) {
+            System.arraycopy(chunk[part], 0, added, size, chunk[part].length);
+            size += chunk[part].length;
+        }
+        Arrays.parallelSort(added);
+        return union(base, added);
+    }
+
+    // Sorted arrays into one, without duplicates
+    private static long[] union(long[] a, long[] b) {
+        long[] merged = new long[a.length + b.length];
+        int i = 0, j = 0, k = 0;
+        while (i < a.length || j < b.length) {
+            long next = j == b.length || (i < a.length && a[i] < b[j]) ? a[i++] : b[j++];
+            if (k == 0 || merged[k - 1] != next) {
+                merged[k++] = next;
+            }
+        }
+        return k == merged.length ? merged : Arrays.copyOf(merged, k);
+    }
+
+    // Walks back from the goal in layer length, each step to a neighbour in the layer before
+    private MoveBuffer path(List<Layer> layers, int length) {
+        int[] packed = new int[length];
+        int[] tops = new int[PEGS];
+        long state = goal;
+        for (int i = length - 1; i >= 0; i--) {
+            long[] layer = layers.get(i).states;
+            topDisks(state, tops);
+            search:
+            for (int from = 0; from < PEGS; from++) {
+                int disk = tops[from];
+                if (disk < 0) continue;
+                for (int to = 0; to < PEGS; to++) {
+                    if (to == from || (tops[to] >= 0 && tops[to] < disk)) continue;
+                    long parent = state ^ ((long) (from ^ to) << (2 * disk));
+                    if (Arrays.binarySearch(layer, parent) >= 0) {
+                        packed[i] = MoveBuffer.pack(to, from, disk);
+                        state = parent;
+                        break search;
+                    }
+                }
+            }
+        }
+        return new MoveBuffer(packed, length);
+    }
+
+    // Smallest disk on every peg, -1 for an empty peg
+    private void topDisks(long state, int[] tops) {
+        for (int peg = 0; peg < PEGS; peg++) {
+            long difference = state ^ (LOW_BITS * peg);
+            long match = ~(difference | difference >>> 1) & diskDigits;
+            tops[peg] = match == 0 ? -1 : Long.numberOfTrailingZeros(match) / 2;
+        }
+    }
+
+    private static long pack(int[] pegs) {
+        long state = 0;
+        for (int disk = pegs.length - 1; disk >= 0; disk--) {
+            if (pegs[disk] < 0 || pegs[disk] >= PEGS) {
+                throw new IllegalArgumentException("Disk " + (disk + 1) + " is on peg " + (pegs[disk] + 1) + " of " + PEGS);
+            }
+            state = state << 2 | pegs[disk];
+        }
+        return state;
+    }
+
+    /**
+     * Configurations at one distance from the start, all sorted. Children dropped for going over
+     * the bound wait here by how far over, and are admitted when it rises past them.
+     */
+    private static final class Layer {
+        long[] states;
+        long[] admitted = new long[0];
+        long[] overByOne = new long[0];
+        long[] overByTwo = new long[0];
+
+        Layer(long[] states) {
+            this.states = states;
+        }
+
+        void raiseBound() {
+            admitted = overByOne;
+            overByOne = overByTwo;
+            overByTwo = new long[0];
+        }
+    }
+
+    private static final class LongList {
+        private long[] values = new long[64];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    /** Disjoint groups of consecutive disks, each with the pattern database of its goal. */
+    private static final class Partition {
+        final int[] groupStarts;
+        final PatternDatabase[] databases;
+        final byte[][] relabel;  // per group: byte of four pegs -> same byte with canonical pegs
+
+        Partition(int[] goal, int[] groupStarts, Path databaseDirectory) {
+            int groups = groupStarts.length - 1;
+            this.groupStarts = groupStarts;
+            this.databases = new PatternDatabase[groups];
+            this.relabel = new byte[groups][256];
+            for (int g = 0; g < groups; g++) {
+                int from = groupStarts[g];
+                int count = groupStarts[g + 1] - from;
+                int[] map = PatternDatabase.canonicalPegs(goal, from, count);
+                int[] canonicalGoal = new int[count];
+                for (int i = 0; i < count; i++) {
+                    canonicalGoal[i] = map[goal[from + i]];
+                }
+                databases[g] = PatternDatabase.forCanonicalGoal(canonicalGoal, databaseDirectory);
+                for (int b = 0; b < 256; b++) {
+                    relabel[g][b] = (byte) (map[b & 3] | map[(b >>> 2) & 3] << 2 | map[(b >>> 4) & 3] << 4 | map[b >>> 6] << 6);
+                }
+            }
+        }
+
+        int heuristic(long state) {
+            int h = 0;
+            for (int g = 0; g < databases.length; g++) {
+                h += distance(g, state);
+            }
+            return h;
+        }
+
+        int distance(int group, long state) {
+            int from = groupStarts[group];
+            int count = groupStarts[group + 1] - from;
+            long bits = (state >>> (2 * from)) & ((1L << (2 * count)) - 1);
+            byte[] table = relabel[group];
+            int index = 0;
+            for (int shift = 0; shift < 2 * count; shift += 8) {
+                index |= (table[(int) (bits >>> shift) & 0xFF] & 0xFF) << shift;
+            }
+            // Digits above the group are 0 in bits but relabeled by the last byte, cut them off
+            index &= (1 << (2 * count)) - 1;
+            return databases[group].distance(index);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.algoproject.solver;
+
+import java.math.BigInteger;
+
+/**
+ * Exact split and move counts of the four-peg Frame-Stewart optimum.
+ * <p>
+ * With T(t) = t(t+1)/2, every n with T(t-1) &lt; n &lt;= T(t) costs 2^(t-1) moves more than
+ * n-1, and splitting off the bottom k = t disks is always optimal. That gives the closed form
+ * FS(n) = (n - T(t-1) + t - 2) * 2^(t-1) + 1, so splits and counts are O(1) per n instead of
+ * the O(n) search of the DP loop, and they stay exact past the range of {@code long}.
+ */
+public final class FrameStewart {
+    private static final Object LOCK = new Object();
+    private static volatile SplitTable table = new SplitTable(new int[1]);
+
+    private FrameStewart() {
+    }
+
+    /** Number of bottom disks to move with three pegs: the t with T(t-1) < n <= T(t). */
+    public static int optimalK(int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Number of disks must be positive: " + n);
+        }
+        int t = (int) Math.ceil((Math.sqrt(8.0 * n + 1) - 1) / 2);
+        while (triangular(t) < n) t++;
+        while (t > 1 && triangular(t - 1) >= n) t--;
+        return t;
+    }
+
+    /** Minimum number of moves for n disks, throws {@link ArithmeticException} past {@code long}. */
+    public static long moveCount(int n) {
+        return exactMoveCount(n).longValueExact();
+    }
+
+    public static BigInteger exactMoveCount(int n) {
+        if (n == 0) return BigInteger.ZERO;
+        int t = optimalK(n);
+        long factor = n - triangular(t - 1) + t - 2;
+        return BigInteger.valueOf(factor).shiftLeft(t - 1).add(BigInteger.ONE);
+    }
+
+    /**
+     * Split table for at least 0..n disks. The table is shared and only grows, so repeated
+     * requests for the same or smaller n reuse it.
+     */
+    public static SplitTable table(int n) {
+        SplitTable current = table;
+        if (current.maxDisks() >= n) {
+            return current;
+        }
+        synchronized (LOCK) {
+            current = table;
+            if (current.maxDisks() < n) {
+                // Grow geometrically so that sweeps over n don't rebuild the table every time
+                int size = (int) Math.min(Math.max(n, 2L * current.maxDisks()), Integer.MAX_VALUE - 8);
+                SolverEvents.TableBuild event = SolverMetrics.isEnabled() ? SolverMetrics.beginTableBuild() : null;
+                int[] kValues = new int[size + 1];
+                for (int i = 1; i <= size; i++) {
+                    kValues[i] = optimalK(i);
+                }
+                if (event != null) {
+                    SolverMetrics.tableBuilt(event, HanoiAlgorithm.FRAME_STEWART.name(), size);
+                }
+                if (SolverTrace.isEnabled(SolverTrace.Level.SUMMARY)) {
+                    SolverTrace.tableBuilt(HanoiAlgorithm.FRAME_STEWART, size);
+                }
+                current = new SplitTable(kValues);
+                table = current;
+            }
+            return current;
+        }
+    }
+
+    /** 2 * rest + 2^k - 1, saturating at {@link Long#MAX_VALUE} instead of overflowing. */
+    public static long splitCost(long rest, int k) {
+        if (k >= Long.SIZE - 1) return Long.MAX_VALUE;
+        long threePeg = (1L << k) - 1;
+        if (rest > (Long.MAX_VALUE - threePeg) / 2) return Long.MAX_VALUE;
+        return 2 * rest + threePeg;
+    }
+
+    private static long triangular(long t) {
+        return t * (t + 1) / 2;
+    }
+}
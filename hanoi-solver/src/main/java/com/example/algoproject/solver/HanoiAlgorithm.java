@@ -0,0 +1,72 @@
+package com.example.algoproject.solver;
+
+/**
+ * The four-peg algorithms offered by the front ends, described by the split they pick for
+ * every disk count.
+ */
+public enum HanoiAlgorithm {
+    FRAME_STEWART("Frame-Stewart Algorithm") {
+        @Override
+        public SplitTable table(int n) {
+            return FrameStewart.table(n);
+        }
+    },
+    DYNAMIC_PROGRAMMING("Dynamic Programming") {
+        @Override
+        public SplitTable table(int n) {
+            SolverEvents.TableBuild event = SolverMetrics.isEnabled() ? SolverMetrics.beginTableBuild() : null;
+            boolean traced = SolverTrace.isEnabled(SolverTrace.Level.FULL);
+            long[] dp = new long[n + 1];
+            int[] kValues = new int[n + 1];
+            if (n >= 1) dp[1] = 1;
+
+            for (int i = 2; i <= n; i++) {
+                // Start with standard 3-peg solution, k=0 means use standard algorithm
+                dp[i] = FrameStewart.splitCost(dp[i - 1], 1);
+                kValues[i] = 0;
+
+                // Splits with k >= 63 can't be cheaper than anything representable
+                for (int k = 1; k < i && k < Long.SIZE - 1; k++) {
+                    long moves = FrameStewart.splitCost(dp[i - k], k);
+                    if (moves < dp[i]) {
+                        dp[i] = moves;
+                        kValues[i] = k;
+                        if (traced) {
+                            SolverTrace.improvement(i, k, moves);
+                        }
+                    }
+                }
+            }
+            if (event != null) {
+                SolverMetrics.tableBuilt(event, name(), n);
+            }
+            if (SolverTrace.isEnabled(SolverTrace.Level.SUMMARY)) {
+                SolverTrace.tableBuilt(this, n);
+            }
+            return new SplitTable(kValues);
+        }
+    },
+    SIMPLE_DIVIDE_AND_CONQUER("Simple Divide & Conquer") {
+        @Override
+        public SplitTable table(int n) {
+            int[] kValues = new int[n + 1];
+            for (int i = 2; i <= n; i++) {
+                kValues[i] = 1;
+            }
+            return new SplitTable(kValues);
+        }
+    };
+
+    private final String displayName;
+
+    HanoiAlgorithm(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String displayName() {
+        return displayName;
+    }
+
+    /** Builds the split table for 0..n disks. */
+    public abstract SplitTable table(int n);
+}
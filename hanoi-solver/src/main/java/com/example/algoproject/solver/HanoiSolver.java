@@ -0,0 +1,99 @@
+package com.example.algoproject.solver;
+
+/**
+ * Entry point of the solver module for the front ends. Solves move n disks from peg 0 to the
+ * last peg; 4 pegs take any {@link HanoiAlgorithm}, other peg counts only Frame-Stewart.
+ * Everything else in this package is reachable for specialised uses, but the front ends only
+ * need this.
+ */
+public final class HanoiSolver {
+    private HanoiSolver() {
+    }
+
+    /** Number of moves; throws {@link ArithmeticException} when it exceeds the long range. */
+    public static long moveCount(HanoiAlgorithm algorithm, int n, int pegs) {
+        checkPegs(algorithm, pegs);
+        return pegs == 4 ? algorithm.table(n).moveCount(n) : MultiPegFrameStewart.moveCount(n, pegs);
+    }
+
+    /** Number of moves as text, exact beyond the long range for Frame-Stewart on 4 pegs. */
+    public static String exactMoveCount(HanoiAlgorithm algorithm, int n, int pegs) {
+        if (pegs == 4 && algorithm == HanoiAlgorithm.FRAME_STEWART) {
+            return FrameStewart.exactMoveCount(n).toString();
+        }
+        return Long.toString(moveCount(algorithm, n, pegs));
+    }
+
+    /** All moves, from the {@link SolutionCache#shared() shared cache}; the buffer is read-only. */
+    public static MoveBuffer solve(HanoiAlgorithm algorithm, int n, int pegs) {
+        checkDisks(n);
+        return SolutionCache.shared().get(algorithm, n, pegs, 0, pegs - 1);
+    }
+
+    /** All moves in a new buffer of the exact size, bypassing the cache. */
+    public static MoveBuffer solveUncached(HanoiAlgorithm algorithm, int n, int pegs) {
+        checkPegs(algorithm, pegs);
+        checkDisks(n);
+        return SolutionCache.solve(algorithm, n, pegs, 0, pegs - 1);
+    }
+
+    /**
+     * All moves in native memory, not limited to 2^31 moves like a {@link MoveBuffer}; 4 pegs
+     * are solved in parallel. The caller closes the buffer to free the memory.
+     */
+    public static NativeMoveBuffer solveNative(HanoiAlgorithm algorithm, int n, int pegs) {
+        checkPegs(algorithm, pegs);
+        checkDisks(n);
+        if (pegs == 4) {
+            return new ParallelMoveGenerator().generateNative(algorithm, n);
+        }
+        NativeMoveBuffer moves = NativeMoveBuffer.allocate(MultiPegFrameStewart.moveCount(n, pegs));
+        try {
+            MultiPegFrameStewart.solve(n, pegs, moves);
+        } catch (RuntimeException | Error e) {
+            moves.close();
+            throw e;
+        }
+        return moves;
+    }
+
+    /** Streams every move into {@code sink}, keeping only the pending sub-problems in memory. */
+    public static void solve(HanoiAlgorithm algorithm, int n, int pegs, MoveSink sink) {
+        checkPegs(algorithm, pegs);
+        checkDisks(n);
+        if (pegs == 4) {
+            MoveGenerator.of(algorithm, n).drainTo(sink);
+        } else {
+            MultiPegFrameStewart.solve(n, pegs, sink);
+        }
+    }
+
+    /** The solution as a {@link SolutionDag}: O(n) nodes, expanded on demand. */
+    public static SolutionDag dag(HanoiAlgorithm algorithm, int n, int pegs) {
+        checkPegs(algorithm, pegs);
+        checkDisks(n);
+        return pegs == 4 ? SolutionDag.of(algorithm, n) : SolutionDag.multiPeg(n, pegs);
+    }
+
+    /** Pull-based moves for 4 pegs, see {@link MoveGenerator}. */
+    public static MoveGenerator generator(HanoiAlgorithm algorithm, int n) {
+        checkDisks(n);
+        return MoveGenerator.of(algorithm, n);
+    }
+
+    // Disk indices of packed moves have 16 bits
+    private static void checkDisks(int n) {
+        if (n < 0 || n > MoveBuffer.MAX_DISKS) {
+            throw new IllegalArgumentException("Number of disks must be between 0 and " + MoveBuffer.MAX_DISKS + ": " + n);
+        }
+    }
+
+    private static void checkPegs(HanoiAlgorithm algorithm, int pegs) {
+        if (pegs < 3 || pegs > MultiPegFrameStewart.MAX_PEGS) {
+            throw new IllegalArgumentException("Number of pegs must be between 3 and " + MultiPegFrameStewart.MAX_PEGS + ": " + pegs);
+        }
+        if (pegs != 4 && algorithm != HanoiAlgorithm.FRAME_STEWART) {
+            throw new IllegalArgumentException("Only " + HanoiAlgorithm.FRAME_STEWART + " supports a peg count other than 4");
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.algoproject.solver;
+
+/**
+ * A single move of the puzzle: the top disk of {@code fromPeg} goes to {@code toPeg}.
+ */
+public final class Move {
+    public final int fromPeg;
+    public final int toPeg;
+    public final int diskIndex;  // 0 is the smallest disk
+
+    public Move(int fromPeg, int toPeg, int diskIndex) {
+        this.fromPeg = fromPeg;
+        this.toPeg = toPeg;
+        this.diskIndex = diskIndex;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Move)) return false;
+        Move other = (Move) o;
+        return fromPeg == other.fromPeg && toPeg == other.toPeg && diskIndex == other.diskIndex;
+    }
+
+    @Override
+    public int hashCode() {
+        return (diskIndex * 31 + fromPeg) * 31 + toPeg;
+    }
+
+    @Override
+    public String toString() {
+        return "Disk " + (diskIndex + 1) + " from Peg " + (fromPeg + 1) + " to Peg " + (toPeg + 1);
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.algoproject.solver;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Growable move list that packs every move into one {@code int}
+ * (disk index in the upper 16 bits, from-peg and to-peg in one byte each).
+ * Four bytes per move instead of a {@link Move} object plus a list reference.
+ */
+public final class MoveBuffer implements MoveSink, Iterable<Move> {
+    private static final int DEFAULT_CAPACITY = 16;
+    static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /** Most disks a packed move can name, disk indices having 16 bits. */
+    public static final int MAX_DISKS = 1 << 16;
+
+    private int[] packed;
+    private int size;
+    private boolean readOnly;  // published with the buffer by SolutionCache
+
+    public MoveBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public MoveBuffer(int capacity) {
+        packed = new int[Math.max(capacity, 1)];
+    }
+
+    // Wraps an already filled array, used by generators that write moves at known offsets
+    MoveBuffer(int[] packed, int size) {
+        this.packed = packed;
+        this.size = size;
+    }
+
+    /** Unchecked: the disk index must be below {@link #MAX_DISKS} and the pegs below 256. */
+    public static int pack(int fromPeg, int toPeg, int diskIndex) {
+        return diskIndex << 16 | fromPeg << 8 | toPeg;
+    }
+
+    public static int fromPegOf(int packedMove) {
+        return (packedMove >>> 8) & 0xFF;
+    }
+
+    public static int toPegOf(int packedMove) {
+        return packedMove & 0xFF;
+    }
+
+    public static int diskIndexOf(int packedMove) {
+        return packedMove >>> 16;
+    }
+
+    @Override
+    public void move(int fromPeg, int toPeg, int diskIndex) {
+        add(fromPeg, toPeg, diskIndex);
+    }
+
+    public void add(int fromPeg, int toPeg, int diskIndex) {
+        ensureCapacity(size + 1);
+        packed[size++] = pack(fromPeg, toPeg, diskIndex);
+    }
+
+    public void addAll(MoveBuffer other) {
+        ensureCapacity(size + other.size);
+        System.arraycopy(other.packed, 0, packed, size, other.size);
+        size += other.size;
+    }
+
+    /** Appends {@code other} with every disk index shifted by {@code diskOffset}. */
+    public void addAll(MoveBuffer other, int diskOffset) {
+        if (diskOffset == 0) {
+            addAll(other);
+            return;
+        }
+        ensureCapacity(size + other.size);
+        int shift = diskOffset << 16;
+        for (int i = 0; i < other.size; i++) {
+            packed[size++] = other.packed[i] + shift;
+        }
+    }
+
+    /** Copy of this buffer with every peg p replaced by {@code pegMap[p]}. */
+    public MoveBuffer relabeled(int[] pegMap) {
+        int[] relabeled = new int[Math.max(size, 1)];
+        for (int i = 0; i < size; i++) {
+            int move = packed[i];
+            relabeled[i] = (move & 0xFFFF0000) | pegMap[fromPegOf(move)] << 8 | pegMap[toPegOf(move)];
+        }
+        return new MoveBuffer(relabeled, size);
+    }
+
+    // Appends the moves [from, from + count) of this buffer again with every peg p replaced by pegMap[p]
+    void repeatRelabeled(int from, int count, int[] pegMap) {
+        ensureCapacity(size + count);
+        for (int i = from, end = from + count; i < end; i++) {
+            int move = packed[i];
+            packed[size++] = (move & 0xFFFF0000) | pegMap[fromPegOf(move)] << 8 | pegMap[toPegOf(move)];
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        checkWritable();
+        size = 0;
+    }
+
+    /** True for buffers shared through {@link SolutionCache}, which can't be changed any more. */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    void makeReadOnly() {
+        readOnly = true;
+    }
+
+    // Backing array, valid up to size(); for bulk copies within the package
+    int[] packedArray() {
+        return packed;
+    }
+
+    // Heap held by the packed moves, including unused capacity
+    long retainedBytes() {
+        return (long) packed.length * Integer.BYTES;
+    }
+
+    public int packed(int index) {
+        checkIndex(index);
+        return packed[index];
+    }
+
+    public int fromPeg(int index) {
+        return fromPegOf(packed(index));
+    }
+
+    public int toPeg(int index) {
+        return toPegOf(packed(index));
+    }
+
+    public int diskIndex(int index) {
+        return diskIndexOf(packed(index));
+    }
+
+    public Move get(int index) {
+        int move = packed(index);
+        return new Move(fromPegOf(move), toPegOf(move), diskIndexOf(move));
+    }
+
+    /** Replays every move into {@code sink} in order. */
+    public void forEachMove(MoveSink sink) {
+        for (int i = 0; i < size; i++) {
+            int move = packed[i];
+            sink.move(fromPegOf(move), toPegOf(move), diskIndexOf(move));
+        }
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(packed, size);
+    }
+
+    @Override
+    public Iterator<Move> iterator() {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public Move next() {
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                return get(next++);
+            }
+        };
+    }
+
+    private void ensureCapacity(int required) {
+        checkWritable();
+        if (required < 0 || required > MAX_CAPACITY) {
+            throw new IllegalStateException("Move buffer cannot hold more than " + MAX_CAPACITY + " moves");
+        }
+        if (required > packed.length) {
+            long grown = Math.max((long) packed.length * 2, required);
+            packed = Arrays.copyOf(packed, (int) Math.min(grown, MAX_CAPACITY));
+        }
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("Move buffer is shared and read-only");
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Move " + index + " out of " + size);
+        }
+    }
+}
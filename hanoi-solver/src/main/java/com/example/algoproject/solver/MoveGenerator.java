@@ -0,0 +1,365 @@
+package com.example.algoproject.solver;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Pull-based move generator. Produces the same sequence as the recursive solvers but only
+ * keeps the pending sub-problems on an explicit stack, so memory is O(recursion depth)
+ * instead of O(moves). 3-peg sub-problems aren't expanded but run by {@link ThreePegSolver},
+ * with a cursor on the stack when they are only partly drained.
+ */
+public final class MoveGenerator implements Iterator<Move> {
+    private static final int FOUR_PEG = 0;
+    private static final int THREE_PEG = 1;
+
+    // Don't hand out sub-ranges smaller than this to other threads
+    private static final long MIN_SPLIT_SIZE = 1 << 10;
+
+    private final SplitTable table;
+    private final boolean instrumented = SolverMetrics.isEnabled();
+    private final int traceDepth = SolverTrace.splitDepth();
+
+    // Pending sub-problems, the top of the stack is the next one to run
+    private int[] kinds = new int[64];
+    private int[] sizes = new int[64];
+    private int[] pegs = new int[64];       // source | target << 8 | aux1 << 16 | aux2 << 24
+    private int[] diskOffsets = new int[64];
+    private long[] cursors = new long[64];  // moves of a 3-peg entry already returned
+    private int top = -1;
+    private int peakDepth;  // only tracked when instrumented
+    private int[] depths;   // recursion depth of each entry, only tracked when tracing splits
+    private int pushDepth;
+    private long skippedSplits;
+    private int tracedDisks = -1;  // set on the generator that reports the finished solve
+    private long tracedMoves;
+
+    private long remaining;
+
+    private MoveGenerator(SplitTable table) {
+        this.table = table;
+        if (traceDepth >= 0) {
+            depths = new int[64];
+        }
+    }
+
+    /** Generator for all n disks from peg 0 to peg 3, as the front ends solve it. */
+    public static MoveGenerator of(HanoiAlgorithm algorithm, int n) {
+        return of(algorithm.table(n), n, 0, 3, 1, 2);
+    }
+
+    public static MoveGenerator of(SplitTable table, int n, int source, int target, int aux1, int aux2) {
+        MoveGenerator generator = new MoveGenerator(table);
+        generator.push(FOUR_PEG, n, source, target, aux1, aux2, 0);
+        generator.traceSolve(n);
+        return generator;
+    }
+
+    /** Generator for the standard 3-peg algorithm. */
+    public static MoveGenerator threePeg(int n, int source, int target, int auxiliary) {
+        MoveGenerator generator = new MoveGenerator(null);
+        generator.push(THREE_PEG, n, source, target, auxiliary, 0, 0);
+        generator.traceSolve(n);
+        return generator;
+    }
+
+    public static Stream<Move> stream(HanoiAlgorithm algorithm, int n) {
+        return of(algorithm, n).stream();
+    }
+
+    /** Number of moves not yet returned by {@link #next()}. */
+    public long remaining() {
+        return remaining;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return remaining > 0;
+    }
+
+    @Override
+    public Move next() {
+        if (remaining == 0) {
+            throw new NoSuchElementException();
+        }
+        int move = nextPacked();
+        if (remaining == 0) {
+            finished();
+        }
+        return new Move(MoveBuffer.fromPegOf(move), MoveBuffer.toPegOf(move), MoveBuffer.diskIndexOf(move));
+    }
+
+    /** Writes all remaining moves into {@code sink} without allocating a {@link Move} per move. */
+    public void drainTo(MoveSink sink) {
+        while (remaining > 0) {
+            drainLeaf(sink, remaining);
+        }
+        finished();
+    }
+
+    /** Writes at most {@code maxMoves} of the remaining moves into {@code sink}; returns how many. */
+    public long drainTo(MoveSink sink, long maxMoves) {
+        long count = Math.min(maxMoves, remaining);
+        for (long left = count; left > 0; ) {
+            left -= drainLeaf(sink, left);
+        }
+        if (remaining == 0) {
+            finished();
+        } else if (instrumented) {
+            SolverMetrics.depth(peakDepth);
+        }
+        return count;
+    }
+
+    private void traceSolve(int n) {
+        if (SolverTrace.isEnabled(SolverTrace.Level.SUMMARY)) {
+            tracedDisks = n;
+            tracedMoves = remaining;
+        }
+    }
+
+    private void finished() {
+        if (instrumented) {
+            SolverMetrics.depth(peakDepth);
+        }
+        if (tracedDisks >= 0) {
+            SolverTrace.solved(tracedDisks, tracedMoves, skippedSplits);
+            tracedDisks = -1;
+        }
+    }
+
+    public Spliterator<Move> spliterator() {
+        return new MoveSpliterator(this);
+    }
+
+    public Stream<Move> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    // Expands 4-peg sub-problems until the top of the stack is a single move or a 3-peg one
+    private void expandTop() {
+        while (kinds[top] == FOUR_PEG && sizes[top] > 1) {
+            expandOnce();
+        }
+    }
+
+    // Writes the next 3-peg sub-problem in one go when it is untouched and fits in maxMoves,
+    // and into a buffer the next 4-peg one too, otherwise the next move; returns how many
+    // moves were written
+    private long drainLeaf(MoveSink sink, long maxMoves) {
+        if (kinds[top] == FOUR_PEG && sizes[top] > 1 && traceDepth < 0 && MultiPegFrameStewart.position(sink) >= 0) {
+            long total = table.moveCount(sizes[top]);
+            if (total <= maxMoves) {
+                int p = pegs[top];
+                solveInto(sizes[top], p & 0xFF, (p >>> 8) & 0xFF, (p >>> 16) & 0xFF, p >>> 24, diskOffsets[top], sink);
+                top--;
+                remaining -= total;
+                return total;
+            }
+        }
+        expandTop();
+        if (kinds[top] == THREE_PEG && cursors[top] == 0) {
+            long total = SplitTable.threePegMoves(sizes[top]);
+            if (total <= maxMoves) {
+                int p = pegs[top];
+                ThreePegSolver.solve(sizes[top], p & 0xFF, (p >>> 8) & 0xFF, (p >>> 16) & 0xFF, diskOffsets[top], sink);
+                top--;
+                remaining -= total;
+                return total;
+            }
+        }
+        int move = nextPacked();
+        sink.move(MoveBuffer.fromPegOf(move), MoveBuffer.toPegOf(move), MoveBuffer.diskIndexOf(move));
+        return 1;
+    }
+
+    // Recursive solve into a buffer sink, where step 3 is step 1 copied with the pegs relabeled
+    private void solveInto(int n, int source, int target, int aux1, int aux2, int diskOffset, MoveSink sink) {
+        if (n == 1) {
+            sink.move(source, target, diskOffset);
+            return;
+        }
+        int k = table.split(n);
+        if (k == 0) {
+            ThreePegSolver.solve(n, source, target, aux1, diskOffset, sink);
+            return;
+        }
+        if (instrumented) {
+            SolverMetrics.split(n, k);
+        }
+        long step1 = MultiPegFrameStewart.position(sink);
+        solveInto(n - k, source, aux1, aux2, target, diskOffset, sink);
+        long step1Moves = MultiPegFrameStewart.position(sink) - step1;
+        ThreePegSolver.solve(k, source, target, aux2, diskOffset + n - k, sink);
+
+        int[] pegMap = new int[MultiPegFrameStewart.MAX_PEGS + 1];
+        pegMap[source] = aux1;
+        pegMap[aux1] = target;
+        pegMap[aux2] = source;
+        pegMap[target] = aux2;
+        MultiPegFrameStewart.repeatRelabeled(sink, step1, step1Moves, pegMap);
+    }
+
+    // Returns the next move packed and steps past it
+    private int nextPacked() {
+        expandTop();
+        int p = pegs[top];
+        int move;
+        if (kinds[top] == THREE_PEG) {
+            // Move i of the run comes straight from the binary rule
+            long done = cursors[top]++;
+            move = ThreePegSolver.packedMoveAt(sizes[top], p & 0xFF, (p >>> 8) & 0xFF, (p >>> 16) & 0xFF, diskOffsets[top], done);
+            if (done + 1 == SplitTable.threePegMoves(sizes[top])) {
+                top--;
+            }
+        } else {
+            move = MoveBuffer.pack(p & 0xFF, (p >>> 8) & 0xFF, diskOffsets[top]);
+            top--;
+        }
+        remaining--;
+        return move;
+    }
+
+    private void expandOnce() {
+        int kind = kinds[top];
+        int n = sizes[top];
+        int p = pegs[top];
+        int offset = diskOffsets[top];
+        if (depths != null) {
+            pushDepth = depths[top] + 1;
+        }
+        top--;
+        remaining -= moveCount(kind, n);
+
+        int source = p & 0xFF;
+        int target = (p >>> 8) & 0xFF;
+        int aux1 = (p >>> 16) & 0xFF;
+        int aux2 = p >>> 24;
+
+        if (kind == THREE_PEG) {
+            // Only split to share the work, before any move was returned. Pushed in reverse:
+            // n-1 disks aside, the largest disk, n-1 disks back on top
+            push(THREE_PEG, n - 1, aux1, target, source, 0, offset);
+            push(THREE_PEG, 1, source, target, aux1, 0, offset + n - 1);
+            push(THREE_PEG, n - 1, source, aux1, target, 0, offset);
+            return;
+        }
+
+        int k = table.split(n);
+        if (k == 0) {
+            // Standard Tower of Hanoi (3 pegs)
+            push(THREE_PEG, n, source, target, aux1, 0, offset);
+        } else {
+            if (instrumented) {
+                SolverMetrics.split(n, k);
+            }
+            if (traceDepth >= 0) {
+                if (pushDepth - 1 <= traceDepth) {
+                    SolverTrace.split(n, k, 4, pushDepth - 1);
+                } else {
+                    skippedSplits++;
+                }
+            }
+            // Step 3, Step 2, Step 1 of the Frame-Stewart split
+            push(FOUR_PEG, n - k, aux1, target, source, aux2, offset);
+            push(THREE_PEG, k, source, target, aux2, 0, offset + n - k);
+            push(FOUR_PEG, n - k, source, aux1, aux2, target, offset);
+        }
+    }
+
+    private void push(int kind, int n, int source, int target, int aux1, int aux2, int diskOffset) {
+        if (n == 0) return;
+        if (++top == kinds.length) {
+            int capacity = kinds.length * 2;
+            kinds = Arrays.copyOf(kinds, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+            pegs = Arrays.copyOf(pegs, capacity);
+            diskOffsets = Arrays.copyOf(diskOffsets, capacity);
+            cursors = Arrays.copyOf(cursors, capacity);
+            if (depths != null) {
+                depths = Arrays.copyOf(depths, capacity);
+            }
+        }
+        kinds[top] = kind;
+        sizes[top] = n;
+        pegs[top] = source | target << 8 | aux1 << 16 | aux2 << 24;
+        diskOffsets[top] = diskOffset;
+        cursors[top] = 0;
+        if (depths != null) {
+            depths[top] = pushDepth;
+        }
+        remaining += moveCount(kind, n);
+        if (instrumented && top >= peakDepth) {
+            peakDepth = top + 1;
+        }
+    }
+
+    private long moveCount(int kind, int n) {
+        return kind == THREE_PEG ? SplitTable.threePegMoves(n) : table.moveCount(n);
+    }
+
+    // Moves the earliest pending sub-problems into a new generator, keeping the rest
+    private MoveGenerator splitPrefix() {
+        if (remaining < MIN_SPLIT_SIZE) return null;
+        while (top == 0) {
+            if (sizes[0] <= 1 || cursors[0] > 0) return null;
+            expandOnce();
+        }
+
+        int count = (top + 1) / 2;
+        MoveGenerator prefix = new MoveGenerator(table);
+        for (int i = top - count + 1; i <= top; i++) {
+            int p = pegs[i];
+            prefix.pushDepth = depths == null ? 0 : depths[i];
+            prefix.push(kinds[i], sizes[i], p & 0xFF, (p >>> 8) & 0xFF, (p >>> 16) & 0xFF, p >>> 24, diskOffsets[i]);
+            prefix.cursors[prefix.top] = cursors[i];
+            prefix.remaining -= cursors[i];
+        }
+        top -= count;
+        remaining -= prefix.remaining;
+        return prefix;
+    }
+
+    private static final class MoveSpliterator implements Spliterator<Move> {
+        private final MoveGenerator generator;
+
+        MoveSpliterator(MoveGenerator generator) {
+            this.generator = generator;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Move> action) {
+            if (!generator.hasNext()) return false;
+            action.accept(generator.next());
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Move> action) {
+            while (generator.hasNext()) {
+                action.accept(generator.next());
+            }
+        }
+
+        @Override
+        public Spliterator<Move> trySplit() {
+            MoveGenerator prefix = generator.splitPrefix();
+            return prefix == null ? null : new MoveSpliterator(prefix);
+        }
+
+        @Override
+        public long estimateSize() {
+            return generator.remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.algoproject.solver;
+
+/**
+ * Random access into a solution without generating it. The sizes of the three steps of
+ * every split are known from the {@link SplitTable}, so the move (or peg state) at any
+ * index is found by descending the recursion once: O(n) steps and no allocation beyond
+ * the result.
+ */
+public final class MoveLocator {
+
+    private MoveLocator() {
+    }
+
+    /** The move at {@code index} (0-based) of the solution moving n disks from peg 0 to peg 3. */
+    public static Move moveAt(int n, HanoiAlgorithm algorithm, long index) {
+        return moveAt(algorithm.table(n), n, index);
+    }
+
+    /** Peg of every disk (0 is the smallest) after the first {@code index} moves. */
+    public static int[] stateAt(int n, HanoiAlgorithm algorithm, long index) {
+        return stateAt(algorithm.table(n), n, index);
+    }
+
+    public static Move moveAt(SplitTable table, int n, long index) {
+        checkIndex(index, table.moveCount(n), false);
+
+        boolean threePeg = false;
+        int source = 0, target = 3, aux1 = 1, aux2 = 2;
+        int diskOffset = 0;
+
+        while (true) {
+            if (threePeg) {
+                long half = SplitTable.threePegMoves(n - 1);
+                if (index == half) {
+                    return new Move(source, target, diskOffset + n - 1);
+                }
+                if (index < half) {
+                    int swap = target;
+                    target = aux1;
+                    aux1 = swap;
+                } else {
+                    index -= half + 1;
+                    int swap = source;
+                    source = aux1;
+                    aux1 = swap;
+                }
+                n--;
+                continue;
+            }
+
+            if (n == 1) {
+                return new Move(source, target, diskOffset);
+            }
+
+            int k = table.split(n);
+            if (k == 0) {
+                threePeg = true;
+                continue;
+            }
+
+            long step1 = table.moveCount(n - k);
+            long step2 = SplitTable.threePegMoves(k);
+            if (index < step1) {
+                // Step 1: n-k disks from source to aux1
+                int oldTarget = target;
+                target = aux1;
+                aux1 = aux2;
+                aux2 = oldTarget;
+                n -= k;
+            } else if (index < step1 + step2) {
+                // Step 2: bottom k disks from source to target over aux2
+                index -= step1;
+                threePeg = true;
+                aux1 = aux2;
+                diskOffset += n - k;
+                n = k;
+            } else {
+                // Step 3: n-k disks from aux1 to target
+                index -= step1 + step2;
+                int oldSource = source;
+                source = aux1;
+                aux1 = oldSource;
+                n -= k;
+            }
+        }
+    }
+
+    public static int[] stateAt(SplitTable table, int n, long index) {
+        checkIndex(index, table.moveCount(n), true);
+
+        int[] state = new int[n];
+        boolean threePeg = false;
+        int source = 0, target = 3, aux1 = 1, aux2 = 2;
+        int diskOffset = 0;
+
+        while (n > 0) {
+            long total = threePeg ? SplitTable.threePegMoves(n) : table.moveCount(n);
+            if (index == 0 || index == total) {
+                fill(state, diskOffset, n, index == 0 ? source : target);
+                break;
+            }
+
+            if (threePeg) {
+                long half = SplitTable.threePegMoves(n - 1);
+                if (index <= half) {
+                    state[diskOffset + n - 1] = source;
+                    int swap = target;
+                    target = aux1;
+                    aux1 = swap;
+                } else {
+                    index -= half + 1;
+                    state[diskOffset + n - 1] = target;
+                    int swap = source;
+                    source = aux1;
+                    aux1 = swap;
+                }
+                n--;
+                continue;
+            }
+
+            int k = table.split(n);
+            if (k == 0) {
+                threePeg = true;
+                continue;
+            }
+
+            long step1 = table.moveCount(n - k);
+            long step2 = SplitTable.threePegMoves(k);
+            if (index < step1) {
+                fill(state, diskOffset + n - k, k, source);
+                int oldTarget = target;
+                target = aux1;
+                aux1 = aux2;
+                aux2 = oldTarget;
+                n -= k;
+            } else if (index <= step1 + step2) {
+                index -= step1;
+                fill(state, diskOffset, n - k, aux1);
+                threePeg = true;
+                aux1 = aux2;
+                diskOffset += n - k;
+                n = k;
+            } else {
+                index -= step1 + step2;
+                fill(state, diskOffset + n - k, k, target);
+                int oldSource = source;
+                source = aux1;
+                aux1 = oldSource;
+                n -= k;
+            }
+        }
+        return state;
+    }
+
+    private static void fill(int[] state, int from, int count, int peg) {
+        for (int i = from; i < from + count; i++) {
+            state[i] = peg;
+        }
+    }
+
+    private static void checkIndex(long index, long moveCount, boolean inclusive) {
+        if (index < 0 || index > moveCount || (index == moveCount && !inclusive)) {
+            throw new IndexOutOfBoundsException("Move " + index + " out of " + moveCount);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.algoproject.solver;
+
+/**
+ * Receives moves as primitives, without allocating a {@link Move} per move.
+ */
+@FunctionalInterface
+public interface MoveSink {
+    void move(int fromPeg, int toPeg, int diskIndex);
+}
@@ -0,0 +1,177 @@
+package com.example.algoproject.solver;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Checks a move sequence while it is produced. Every peg is a {@code long} bitmask with bit i
+ * set when disk i (0 is the smallest) is on it, so the top disk is the lowest set bit and a
+ * move is legal when the moved disk is that bit on the source peg and no lower bit is set on
+ * the target peg. No boxing, no stacks, two array writes per move.
+ * <p>
+ * The first illegal move is recorded and every later move is only counted, so a verifier
+ * can be used as the {@link MoveSink} of any engine, reader or file replay.
+ */
+public final class MoveVerifier implements MoveSink {
+    public static final int MAX_DISKS = Long.SIZE;
+
+    private final long[] pegs;
+    private final long[] goal;
+    private final int numDisks;
+    private long moveCount;
+    private long firstIllegalMove = -1;
+    private String failure;
+
+    /** Verifier for moving n disks from peg 0 to the last peg. */
+    public MoveVerifier(int numDisks, int pegs) {
+        this(pegs, tower(numDisks, 0), tower(numDisks, pegs - 1));
+    }
+
+    /** Verifier between two configurations, given as the peg of every disk. */
+    public MoveVerifier(int pegs, int[] start, int[] goal) {
+        if (start.length != goal.length || start.length > MAX_DISKS) {
+            throw new IllegalArgumentException("Configurations must have the same number of disks, at most " + MAX_DISKS);
+        }
+        if (pegs < 3 || pegs > MultiPegFrameStewart.MAX_PEGS) {
+            throw new IllegalArgumentException("Number of pegs must be between 3 and " + MultiPegFrameStewart.MAX_PEGS + ": " + pegs);
+        }
+        this.numDisks = start.length;
+        this.pegs = masks(start, pegs);
+        this.goal = masks(goal, pegs);
+    }
+
+    public static MoveVerifier verify(int numDisks, int pegs, MoveBuffer moves) {
+        MoveVerifier verifier = new MoveVerifier(numDisks, pegs);
+        moves.forEachMove(verifier);
+        return verifier;
+    }
+
+    public static MoveVerifier verify(int numDisks, int pegs, Iterator<Move> moves) {
+        MoveVerifier verifier = new MoveVerifier(numDisks, pegs);
+        while (moves.hasNext()) {
+            verifier.accept(moves.next());
+        }
+        return verifier;
+    }
+
+    public static MoveVerifier verify(int numDisks, int pegs, Stream<Move> moves) {
+        MoveVerifier verifier = new MoveVerifier(numDisks, pegs);
+        moves.forEachOrdered(verifier::accept);
+        return verifier;
+    }
+
+    @Override
+    public void move(int fromPeg, int toPeg, int diskIndex) {
+        long index = moveCount++;
+        if (failure != null) {
+            return;
+        }
+        if (fromPeg < 0 || fromPeg >= pegs.length || toPeg < 0 || toPeg >= pegs.length || fromPeg == toPeg) {
+            fail(index, "peg " + (fromPeg + 1) + " to peg " + (toPeg + 1) + " is not a move");
+            return;
+        }
+        if (diskIndex < 0 || diskIndex >= numDisks) {
+            fail(index, "there is no disk " + (diskIndex + 1));
+            return;
+        }
+
+        long disk = 1L << diskIndex;
+        long source = pegs[fromPeg];
+        long target = pegs[toPeg];
+        if ((source & -source) != disk) {
+            fail(index, "disk " + (diskIndex + 1) + " is not on top of peg " + (fromPeg + 1));
+            return;
+        }
+        if ((target & (disk - 1)) != 0) {
+            fail(index, "disk " + (diskIndex + 1) + " would be placed on the smaller disk "
+                    + (Long.numberOfTrailingZeros(target) + 1) + " on peg " + (toPeg + 1));
+            return;
+        }
+        pegs[fromPeg] = source ^ disk;
+        pegs[toPeg] = target | disk;
+    }
+
+    public void accept(Move move) {
+        move(move.fromPeg, move.toPeg, move.diskIndex);
+    }
+
+    public long moveCount() {
+        return moveCount;
+    }
+
+    public boolean isLegal() {
+        return failure == null;
+    }
+
+    /** Index (0-based) of the first illegal move, -1 if every move was legal. */
+    public long firstIllegalMove() {
+        return firstIllegalMove;
+    }
+
+    /** Legal so far and every disk is on its goal peg. */
+    public boolean isSolved() {
+        if (failure != null) {
+            return false;
+        }
+        for (int i = 0; i < pegs.length; i++) {
+            if (pegs[i] != goal[i]) return false;
+        }
+        return true;
+    }
+
+    /** Peg of every disk after the last legal move. */
+    public int[] state() {
+        int[] state = new int[numDisks];
+        for (int p = 0; p < pegs.length; p++) {
+            for (long mask = pegs[p]; mask != 0; mask &= mask - 1) {
+                state[Long.numberOfTrailingZeros(mask)] = p;
+            }
+        }
+        return state;
+    }
+
+    /** One line summary, naming the first illegal move or the disks left off their goal peg. */
+    public String report() {
+        if (failure != null) {
+            return "Illegal move " + (firstIllegalMove + 1) + ": " + failure;
+        }
+        if (!isSolved()) {
+            return moveCount + " legal moves, but " + Long.bitCount(misplaced()) + " disks are not on their goal peg";
+        }
+        return moveCount + " legal moves, all disks on their goal peg";
+    }
+
+    private long misplaced() {
+        long misplaced = 0;
+        for (int i = 0; i < pegs.length; i++) {
+            misplaced |= pegs[i] & ~goal[i];
+        }
+        return misplaced;
+    }
+
+    private void fail(long index, String reason) {
+        firstIllegalMove = index;
+        failure = reason;
+    }
+
+    private static int[] tower(int numDisks, int peg) {
+        if (numDisks < 0 || numDisks > MAX_DISKS) {
+            throw new IllegalArgumentException("Number of disks must be between 0 and " + MAX_DISKS + ": " + numDisks);
+        }
+        int[] state = new int[numDisks];
+        Arrays.fill(state, peg);
+        return state;
+    }
+
+    private static long[] masks(int[] state, int pegs) {
+        long[] masks = new long[pegs];
+        for (int disk = 0; disk < state.length; disk++) {
+            if (state[disk] < 0 || state[disk] >= pegs) {
+                throw new IllegalArgumentException("Disk " + (disk + 1) + " is on peg " + (state[disk] + 1) + " of " + pegs);
+            }
+            masks[state[disk]] |= 1L << disk;
+        }
+        return masks;
+    }
+}
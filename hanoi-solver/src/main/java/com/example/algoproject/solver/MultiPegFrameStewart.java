@@ -0,0 +1,309 @@
+package com.example.algoproject.solver;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Frame-Stewart for any number of pegs P >= 3.
+ * <p>
+ * FS(n, p) = min over k of 2 * FS(n-k, p) + FS(k, p-1). Cell (n, p) only depends on cells of
+ * its own row with fewer disks and on row p-1, so all cells on an anti-diagonal n + p = d are
+ * independent and are computed in parallel, one diagonal after the other. A diagonal has at
+ * most P - 3 cells, so when there are fewer than threads (always for 4 pegs) the search over
+ * k within a large cell is split into blocks instead. The table is memoized and only ever
+ * grown, so sweeps over n and P reuse what was already computed.
+ */
+public final class MultiPegFrameStewart {
+    public static final int MAX_PEGS = 255;  // pegs are stored in one byte of a packed move
+
+    // Diagonals with less work per cell than this are computed on the calling thread
+    private static final int PARALLEL_THRESHOLD = 256;
+    // Splits searched per task when the search of one cell is split
+    private static final int SPLIT_BLOCK = 1 << 12;
+    private static final int PARALLELISM = ForkJoinPool.getCommonPoolParallelism();
+
+    private static final Object LOCK = new Object();
+    private static volatile Table shared = Table.empty();
+
+    private MultiPegFrameStewart() {
+    }
+
+    /** Split and count table covering at least n disks and the given number of pegs. */
+    public static Table table(int n, int pegs) {
+        if (pegs < 3 || pegs > MAX_PEGS) {
+            throw new IllegalArgumentException("Number of pegs must be between 3 and " + MAX_PEGS + ": " + pegs);
+        }
+        Table current = shared;
+        if (current.covers(n, pegs)) {
+            return current;
+        }
+        synchronized (LOCK) {
+            current = shared;
+            if (!current.covers(n, pegs)) {
+                current = current.extend(Math.max(n, current.maxDisks), Math.max(pegs, current.maxPegs));
+                shared = current;
+            }
+            return current;
+        }
+    }
+
+    public static long moveCount(int n, int pegs) {
+        return table(n, pegs).moveCount(n, pegs);
+    }
+
+    /**
+     * Most disks whose move count on {@code pegs} pegs fits in a long, without building the
+     * table: the counts grow by 2^t for C(t + pegs - 3, pegs - 3) disks in a row, t = 0, 1, ...
+     */
+    public static int maxDisks(int pegs) {
+        if (pegs < 3 || pegs > MAX_PEGS) {
+            throw new IllegalArgumentException("Number of pegs must be between 3 and " + MAX_PEGS + ": " + pegs);
+        }
+        long disks = 0;
+        long moves = 0;
+        long layer = 1;  // C(t + pegs - 3, pegs - 3), saturating
+        for (int t = 0; ; t++) {
+            long room = (Long.MAX_VALUE - 1 - moves) >>> t;
+            if (layer > room) {
+                return (int) Math.min(disks + room, Integer.MAX_VALUE);
+            }
+            disks += layer;
+            moves += layer << t;
+            long factor = t + pegs - 2;
+            layer = layer > Long.MAX_VALUE / factor ? Long.MAX_VALUE : layer * factor / (t + 1);
+        }
+    }
+
+    /** Moves n disks from peg 0 to the last peg, writing every move to {@code sink}. */
+    public static void solve(int n, int pegs, MoveSink sink) {
+        if (n < 0 || n > MoveBuffer.MAX_DISKS) {
+            throw new IllegalArgumentException("Number of disks must be between 0 and " + MoveBuffer.MAX_DISKS + ": " + n);
+        }
+        int[] spares = new int[pegs - 2];
+        for (int i = 0; i < spares.length; i++) {
+            spares[i] = i + 1;
+        }
+        Table table = table(n, pegs);
+        Trace trace = SolverTrace.isEnabled(SolverTrace.Level.SUMMARY) ? new Trace(SolverTrace.splitDepth()) : null;
+        solve(table, n, 0, pegs - 1, spares, 0, sink, trace, 0);
+        if (trace != null) {
+            SolverTrace.solved(n, table.moveCount(n, pegs), trace.skipped);
+        }
+    }
+
+    // Trace settings and splits skipped for one solve, only created while tracing
+    private static final class Trace {
+        final int maxDepth;
+        long skipped;
+
+        Trace(int maxDepth) {
+            this.maxDepth = maxDepth;
+        }
+    }
+
+    private static void solve(Table table, int n, int source, int target, int[] spares, int diskOffset, MoveSink sink,
+                              Trace trace, int depth) {
+        if (n == 0) return;
+        if (n == 1) {
+            sink.move(source, target, diskOffset);
+            return;
+        }
+        if (spares.length == 1) {
+            ThreePegSolver.solve(n, source, target, spares[0], diskOffset, sink);
+            return;
+        }
+
+        int k = table.split(n, spares.length + 2);
+        if (SolverMetrics.isEnabled()) {
+            SolverMetrics.split(n, k);
+        }
+        if (trace != null && trace.maxDepth >= 0) {
+            if (depth <= trace.maxDepth) {
+                SolverTrace.split(n, k, spares.length + 2, depth);
+            } else {
+                trace.skipped++;
+            }
+        }
+        int middle = spares[0];
+        int[] rest = Arrays.copyOfRange(spares, 1, spares.length);
+
+        // Step 1: top n-k disks to the first spare peg with all pegs
+        int[] step1Spares = Arrays.copyOf(rest, spares.length);
+        step1Spares[rest.length] = target;
+        long step1 = trace == null ? position(sink) : -1;
+        solve(table, n - k, source, middle, step1Spares, diskOffset, sink, trace, depth + 1);
+        long step1Moves = step1 < 0 ? 0 : position(sink) - step1;
+
+        // Step 2: bottom k disks to the target without the occupied spare peg
+        solve(table, k, source, target, rest, diskOffset + n - k, sink, trace, depth + 1);
+
+        // Step 3: n-k disks back on top with all pegs
+        int[] step3Spares = new int[spares.length];
+        step3Spares[0] = source;
+        System.arraycopy(rest, 0, step3Spares, 1, rest.length);
+        if (step1 < 0) {
+            solve(table, n - k, middle, target, step3Spares, diskOffset, sink, trace, depth + 1);
+            return;
+        }
+        // Same sub-problem as step 1 with the pegs in other roles, so a buffer copies it relabeled
+        int[] pegMap = new int[MAX_PEGS + 1];
+        pegMap[source] = middle;
+        pegMap[middle] = target;
+        for (int i = 0; i < step1Spares.length; i++) {
+            pegMap[step1Spares[i]] = step3Spares[i];
+        }
+        repeatRelabeled(sink, step1, step1Moves, pegMap);
+    }
+
+    // Moves written so far to a buffer sink, whose step 1 can then be reused; -1 for other sinks
+    static long position(MoveSink sink) {
+        if (sink instanceof MoveBuffer buffer) return buffer.size();
+        if (sink instanceof NativeMoveBuffer buffer) return buffer.size();
+        return -1;
+    }
+
+    // Appends count moves of a buffer sink from index from again, with the pegs mapped
+    static void repeatRelabeled(MoveSink sink, long from, long count, int[] pegMap) {
+        if (sink instanceof MoveBuffer buffer) {
+            buffer.repeatRelabeled((int) from, (int) count, pegMap);
+        } else {
+            ((NativeMoveBuffer) sink).repeatRelabeled(from, count, pegMap);
+        }
+    }
+
+    /** Optimal splits and saturated move counts for 0..maxDisks disks and 3..maxPegs pegs. */
+    public static final class Table {
+        private final int maxDisks;
+        private final int maxPegs;
+        private final long[][] counts;  // [pegs][disks]
+        private final int[][] splits;
+
+        private Table(int maxDisks, int maxPegs) {
+            this.maxDisks = maxDisks;
+            this.maxPegs = maxPegs;
+            this.counts = new long[maxPegs + 1][];
+            this.splits = new int[maxPegs + 1][];
+        }
+
+        private static Table empty() {
+            Table table = new Table(0, 3);
+            table.counts[3] = new long[1];
+            table.splits[3] = new int[1];
+            return table;
+        }
+
+        public int maxDisks() {
+            return maxDisks;
+        }
+
+        public int maxPegs() {
+            return maxPegs;
+        }
+
+        public boolean covers(int n, int pegs) {
+            return n <= maxDisks && pegs <= maxPegs;
+        }
+
+        /** Number of disks moved with one peg fewer; 0 for three pegs. */
+        public int split(int n, int pegs) {
+            return splits[pegs][n];
+        }
+
+        public long moveCount(int n, int pegs) {
+            long count = counts[pegs][n];
+            if (count == Long.MAX_VALUE) {
+                throw new ArithmeticException("Move count for " + n + " disks on " + pegs + " pegs exceeds the long range");
+            }
+            return count;
+        }
+
+        private Table extend(int newDisks, int newPegs) {
+            Table table = new Table(newDisks, newPegs);
+            for (int p = 3; p <= newPegs; p++) {
+                table.counts[p] = new long[newDisks + 1];
+                table.splits[p] = new int[newDisks + 1];
+                if (p <= maxPegs) {
+                    System.arraycopy(counts[p], 0, table.counts[p], 0, maxDisks + 1);
+                    System.arraycopy(splits[p], 0, table.splits[p], 0, maxDisks + 1);
+                }
+            }
+
+            for (int n = 1; n <= newDisks; n++) {
+                table.counts[3][n] = n < Long.SIZE ? (1L << n) - 1 : Long.MAX_VALUE;
+            }
+            for (int p = 4; p <= newPegs && newDisks > 0; p++) {
+                table.counts[p][1] = 1;
+            }
+
+            // Wavefront over the anti-diagonals n + p = d
+            for (int d = 4 + 2; d <= newPegs + newDisks; d++) {
+                int lowPegs = Math.max(4, d - newDisks);
+                int highPegs = Math.min(newPegs, d - 2);
+                if (lowPegs > highPegs) continue;
+
+                int diagonal = d;
+                IntStream cells = IntStream.rangeClosed(lowPegs, highPegs)
+                        .filter(p -> p > maxPegs || diagonal - p > maxDisks);
+                if (highPegs - lowPegs + 1 < PARALLELISM) {
+                    cells.forEach(p -> table.computeCell(diagonal - p, p, diagonal - p >= 2 * SPLIT_BLOCK));
+                    continue;
+                }
+                if (d - lowPegs >= PARALLEL_THRESHOLD) {
+                    cells = cells.parallel();
+                }
+                cells.forEach(p -> table.computeCell(diagonal - p, p, false));
+            }
+            return table;
+        }
+
+        private void computeCell(int n, int pegs, boolean splitSearch) {
+            long[] row = counts[pegs];
+            long[] fewerPegs = counts[pegs - 1];
+            int bestK;
+            if (splitSearch) {
+                // Best k of every block in parallel, then the first block with the fewest moves
+                int blocks = (n + SPLIT_BLOCK - 1) / SPLIT_BLOCK;
+                int[] blockK = new int[blocks];
+                IntStream.range(0, blocks).parallel().forEach(b ->
+                        blockK[b] = bestSplit(row, fewerPegs, n, 1 + b * SPLIT_BLOCK, Math.min(n, (b + 1) * SPLIT_BLOCK)));
+                long best = Long.MAX_VALUE;
+                bestK = n;
+                for (int k : blockK) {
+                    long moves = moves(row, fewerPegs, n, k);
+                    if (moves < best) {
+                        best = moves;
+                        bestK = k;
+                    }
+                }
+            } else {
+                bestK = bestSplit(row, fewerPegs, n, 1, n);
+            }
+            row[n] = moves(row, fewerPegs, n, bestK);
+            splits[pegs][n] = bestK;
+        }
+
+        // Smallest k in [from, to] with the fewest moves
+        private static int bestSplit(long[] row, long[] fewerPegs, int n, int from, int to) {
+            long best = Long.MAX_VALUE;
+            int bestK = to;
+            for (int k = from; k <= to; k++) {
+                long moves = moves(row, fewerPegs, n, k);
+                if (moves < best) {
+                    best = moves;
+                    bestK = k;
+                }
+            }
+            return bestK;
+        }
+
+        private static long moves(long[] row, long[] fewerPegs, int n, int k) {
+            return saturatedAdd(saturatedAdd(row[n - k], row[n - k]), fewerPegs[k]);
+        }
+
+        private static long saturatedAdd(long a, long b) {
+            long sum = a + b;
+            return sum < 0 ? Long.MAX_VALUE : sum;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.algoproject.solver;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+/**
+ * Move list in native memory, packed like {@link MoveBuffer} but indexed by {@code long}, so
+ * it can hold solutions beyond {@link MoveBuffer}'s 2^31 moves without any GC heap. The
+ * memory is released deterministically by {@link #close()}; any access after that throws
+ * {@link IllegalStateException}. Not thread-safe, except that solvers may fill disjoint
+ * ranges of a preallocated buffer from several threads.
+ */
+public final class NativeMoveBuffer implements MoveSink, AutoCloseable {
+    static final ValueLayout.OfInt MOVE = ValueLayout.JAVA_INT;
+
+    private static final long DEFAULT_CAPACITY = 1 << 16;
+    private static final long MAX_CAPACITY = Long.MAX_VALUE / Integer.BYTES;
+
+    private Arena arena;
+    private MemorySegment segment;
+    private long size;
+
+    private NativeMoveBuffer(long capacity) {
+        arena = Arena.ofShared();
+        segment = arena.allocate(capacity * Integer.BYTES, Integer.BYTES);
+    }
+
+    public NativeMoveBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /** Empty buffer with room for {@code capacity} moves before it has to grow. */
+    public static NativeMoveBuffer allocate(long capacity) {
+        if (capacity < 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Invalid native move buffer capacity: " + capacity);
+        }
+        return new NativeMoveBuffer(Math.max(capacity, 1));
+    }
+
+    public static NativeMoveBuffer copyOf(MoveBuffer moves) {
+        NativeMoveBuffer copy = allocate(moves.size());
+        copy.addAll(moves);
+        return copy;
+    }
+
+    @Override
+    public void move(int fromPeg, int toPeg, int diskIndex) {
+        add(fromPeg, toPeg, diskIndex);
+    }
+
+    public void add(int fromPeg, int toPeg, int diskIndex) {
+        ensureCapacity(size + 1);
+        segment.setAtIndex(MOVE, size++, MoveBuffer.pack(fromPeg, toPeg, diskIndex));
+    }
+
+    public void addAll(MoveBuffer other) {
+        ensureCapacity(size + other.size());
+        MemorySegment.copy(other.packedArray(), 0, segment, MOVE, size * Integer.BYTES, other.size());
+        size += other.size();
+    }
+
+    public void addAll(NativeMoveBuffer other) {
+        ensureCapacity(size + other.size);
+        MemorySegment.copy(other.segment, 0, segment, size * Integer.BYTES, other.size * Integer.BYTES);
+        size += other.size;
+    }
+
+    // Appends the moves [from, from + count) of this buffer again with every peg p replaced by pegMap[p]
+    void repeatRelabeled(long from, long count, int[] pegMap) {
+        ensureCapacity(size + count);
+        for (long i = from, end = from + count; i < end; i++) {
+            int move = segment.getAtIndex(MOVE, i);
+            segment.setAtIndex(MOVE, size++, (move & 0xFFFF0000) | pegMap[MoveBuffer.fromPegOf(move)] << 8 | pegMap[MoveBuffer.toPegOf(move)]);
+        }
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /** Native bytes held, including unused capacity. */
+    public long byteSize() {
+        return segment.byteSize();
+    }
+
+    public int packed(long index) {
+        checkIndex(index);
+        return segment.getAtIndex(MOVE, index);
+    }
+
+    public int fromPeg(long index) {
+        return MoveBuffer.fromPegOf(packed(index));
+    }
+
+    public int toPeg(long index) {
+        return MoveBuffer.toPegOf(packed(index));
+    }
+
+    public int diskIndex(long index) {
+        return MoveBuffer.diskIndexOf(packed(index));
+    }
+
+    public Move get(long index) {
+        int move = packed(index);
+        return new Move(MoveBuffer.fromPegOf(move), MoveBuffer.toPegOf(move), MoveBuffer.diskIndexOf(move));
+    }
+
+    public void forEachMove(MoveSink sink) {
+        forEachMove(0, size, sink);
+    }
+
+    /** Replays {@code count} moves from {@code from} on into {@code sink}. */
+    public void forEachMove(long from, long count, MoveSink sink) {
+        checkRange(from, count);
+        for (long i = from, end = from + count; i < end; i++) {
+            int move = segment.getAtIndex(MOVE, i);
+            sink.move(MoveBuffer.fromPegOf(move), MoveBuffer.toPegOf(move), MoveBuffer.diskIndexOf(move));
+        }
+    }
+
+    /** Heap copy of {@code count} moves from {@code from} on. */
+    public MoveBuffer slice(long from, int count) {
+        checkRange(from, count);
+        int[] packed = new int[Math.max(count, 1)];
+        MemorySegment.copy(segment, MOVE, from * Integer.BYTES, packed, 0, count);
+        return new MoveBuffer(packed, count);
+    }
+
+    /** Read-only view of the packed moves, for bulk output; only valid until the buffer grows or is closed. */
+    public MemorySegment asSegment() {
+        return segment.asSlice(0, size * Integer.BYTES).asReadOnly();
+    }
+
+    /** Frees the native memory. */
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    // Solvers writing at precomputed offsets fill the segment first and set the size afterwards
+    MemorySegment segment() {
+        return segment;
+    }
+
+    void setSize(long size) {
+        if (size < 0 || size * Integer.BYTES > segment.byteSize()) {
+            throw new IndexOutOfBoundsException("Size " + size + " exceeds the capacity of " + segment.byteSize() / Integer.BYTES);
+        }
+        this.size = size;
+    }
+
+    private void ensureCapacity(long required) {
+        if (required < 0 || required > MAX_CAPACITY) {
+            throw new IllegalStateException("Native move buffer cannot hold more than " + MAX_CAPACITY + " moves");
+        }
+        long capacity = segment.byteSize() / Integer.BYTES;
+        if (required > capacity) {
+            long grown = Math.min(Math.max(capacity * 2, required), MAX_CAPACITY);
+            Arena grownArena = Arena.ofShared();
+            MemorySegment grownSegment = grownArena.allocate(grown * Integer.BYTES, Integer.BYTES);
+            MemorySegment.copy(segment, 0, grownSegment, 0, size * Integer.BYTES);
+            arena.close();
+            arena = grownArena;
+            segment = grownSegment;
+        }
+    }
+
+    private void checkIndex(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Move " + index + " out of " + size);
+        }
+    }
+
+    private void checkRange(long from, long count) {
+        if (from < 0 || count < 0 || from > size - count) {
+            throw new IndexOutOfBoundsException("Moves " + from + " to " + (from + count) + " out of " + size);
+        }
+    }
+}
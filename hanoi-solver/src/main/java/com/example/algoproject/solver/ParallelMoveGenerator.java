@@ -0,0 +1,156 @@
+package com.example.algoproject.solver;
+
+import java.lang.foreign.MemorySegment;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork-join move generation. The three steps of every split have known lengths
+ * (moveCount(n-k), 2^k - 1, moveCount(n-k)), so each one is written concurrently at its
+ * precomputed offset of a single preallocated array, without any {@code addAll} copying.
+ * The array is a heap {@link MoveBuffer} or, for solutions beyond 2^31 moves, a
+ * {@link NativeMoveBuffer}; both are written through a {@link MemorySegment} with
+ * {@code long} offsets. Sub-problems below the threshold are written sequentially; the
+ * result is move for move the same as the sequential solvers.
+ */
+public final class ParallelMoveGenerator {
+    public static final int DEFAULT_THRESHOLD = 1 << 14;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    public ParallelMoveGenerator() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    public ParallelMoveGenerator(ForkJoinPool pool, int threshold) {
+        this.pool = pool;
+        this.threshold = Math.max(threshold, 1);
+    }
+
+    /** All n disks from peg 0 to peg 3, as the front ends solve it. */
+    public MoveBuffer generate(HanoiAlgorithm algorithm, int n) {
+        return generate(algorithm.table(n), n, 0, 3, 1, 2);
+    }
+
+    public MoveBuffer generate(SplitTable table, int n, int source, int target, int aux1, int aux2) {
+        long total = table.moveCount(n);
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException(total + " moves don't fit in a move buffer");
+        }
+        int[] moves = new int[(int) total];
+        pool.invoke(new FourPegTask(table, MemorySegment.ofArray(moves), 0, n, source, target, aux1, aux2, 0));
+        return new MoveBuffer(moves, moves.length);
+    }
+
+    /** All n disks from peg 0 to peg 3 in native memory; the caller closes the buffer. */
+    public NativeMoveBuffer generateNative(HanoiAlgorithm algorithm, int n) {
+        return generateNative(algorithm.table(n), n, 0, 3, 1, 2);
+    }
+
+    public NativeMoveBuffer generateNative(SplitTable table, int n, int source, int target, int aux1, int aux2) {
+        long total = table.moveCount(n);
+        NativeMoveBuffer moves = NativeMoveBuffer.allocate(total);
+        try {
+            pool.invoke(new FourPegTask(table, moves.segment(), 0, n, source, target, aux1, aux2, 0));
+        } catch (RuntimeException | Error e) {
+            moves.close();
+            throw e;
+        }
+        moves.setSize(total);
+        return moves;
+    }
+
+    @SuppressWarnings("serial")  // never serialized
+    private final class FourPegTask extends RecursiveAction {
+        private final SplitTable table;
+        private final MemorySegment moves;
+        private final long offset;
+        private final int n, source, target, aux1, aux2, diskOffset;
+
+        FourPegTask(SplitTable table, MemorySegment moves, long offset, int n, int source, int target, int aux1, int aux2, int diskOffset) {
+            this.table = table;
+            this.moves = moves;
+            this.offset = offset;
+            this.n = n;
+            this.source = source;
+            this.target = target;
+            this.aux1 = aux1;
+            this.aux2 = aux2;
+            this.diskOffset = diskOffset;
+        }
+
+        @Override
+        protected void compute() {
+            if (table.moveCount(n) <= threshold) {
+                writeFourPeg(table, moves, offset, n, source, target, aux1, aux2, diskOffset);
+                return;
+            }
+
+            int k = table.split(n);
+            if (k == 0) {
+                new ThreePegTask(moves, offset, n, source, target, aux1, diskOffset).compute();
+                return;
+            }
+
+            long step2 = offset + table.moveCount(n - k);
+            long step3 = step2 + SplitTable.threePegMoves(k);
+            invokeAll(
+                    new FourPegTask(table, moves, offset, n - k, source, aux1, aux2, target, diskOffset),
+                    new ThreePegTask(moves, step2, k, source, target, aux2, diskOffset + n - k),
+                    new FourPegTask(table, moves, step3, n - k, aux1, target, source, aux2, diskOffset));
+        }
+    }
+
+    @SuppressWarnings("serial")  // never serialized
+    private final class ThreePegTask extends RecursiveAction {
+        private final MemorySegment moves;
+        private final long offset;
+        private final int n, source, target, auxiliary, diskOffset;
+
+        ThreePegTask(MemorySegment moves, long offset, int n, int source, int target, int auxiliary, int diskOffset) {
+            this.moves = moves;
+            this.offset = offset;
+            this.n = n;
+            this.source = source;
+            this.target = target;
+            this.auxiliary = auxiliary;
+            this.diskOffset = diskOffset;
+        }
+
+        @Override
+        protected void compute() {
+            if (SplitTable.threePegMoves(n) <= threshold) {
+                writeThreePeg(moves, offset, n, source, target, auxiliary, diskOffset);
+                return;
+            }
+
+            long middle = offset + SplitTable.threePegMoves(n - 1);
+            moves.setAtIndex(NativeMoveBuffer.MOVE, middle, MoveBuffer.pack(source, target, diskOffset + n - 1));
+            invokeAll(
+                    new ThreePegTask(moves, offset, n - 1, source, auxiliary, target, diskOffset),
+                    new ThreePegTask(moves, middle + 1, n - 1, auxiliary, target, source, diskOffset));
+        }
+    }
+
+    // Sequential writers, each returns the index after its last move
+    private static long writeFourPeg(SplitTable table, MemorySegment moves, long index, int n, int source, int target, int aux1, int aux2, int diskOffset) {
+        if (n == 0) return index;
+        if (n == 1) {
+            moves.setAtIndex(NativeMoveBuffer.MOVE, index, MoveBuffer.pack(source, target, diskOffset));
+            return index + 1;
+        }
+
+        int k = table.split(n);
+        if (k == 0) {
+            return writeThreePeg(moves, index, n, source, target, aux1, diskOffset);
+        }
+        index = writeFourPeg(table, moves, index, n - k, source, aux1, aux2, target, diskOffset);
+        index = writeThreePeg(moves, index, k, source, target, aux2, diskOffset + n - k);
+        return writeFourPeg(table, moves, index, n - k, aux1, target, source, aux2, diskOffset);
+    }
+
+    private static long writeThreePeg(MemorySegment moves, long index, int n, int source, int target, int auxiliary, int diskOffset) {
+        return ThreePegSolver.write(moves, index, n, source, target, auxiliary, diskOffset);
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.algoproject.solver;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Exact four-peg distances from every configuration of k disks to one goal configuration,
+ * one byte per configuration (4^k bytes). A group of k consecutive disks of a bigger problem
+ * behaves like a k-disk problem once the other disks are ignored, so the distance of the
+ * group is a lower bound on the moves of its own disks and the bounds of disjoint groups add.
+ * <p>
+ * Goals are stored with canonical peg labels (pegs numbered in order of first use, largest
+ * disk first), so all goals that differ by a peg permutation share one table. Tables are
+ * built by a breadth-first search backwards from the goal, kept in memory and persisted to
+ * a directory so later runs only read them.
+ */
+public final class PatternDatabase {
+    public static final int PEGS = 4;
+    public static final int MAX_DISKS = 13;  // 64 MB
+
+    private static final long MAGIC = 0x48414E4F49504442L;  // "HANOIPDB"
+    private static final Map<Long, PatternDatabase> LOADED = new ConcurrentHashMap<>();
+
+    private final int numDisks;
+    private final byte[] distances;
+
+    private PatternDatabase(int numDisks, byte[] distances) {
+        this.numDisks = numDisks;
+        this.distances = distances;
+    }
+
+    /**
+     * Table for the goal given as the canonical peg of every disk, see {@link #canonicalPegs}.
+     * With a {@code directory} the table is read from it or built and written to it.
+     */
+    public static PatternDatabase forCanonicalGoal(int[] goal, Path directory) {
+        if (goal.length < 1 || goal.length > MAX_DISKS) {
+            throw new IllegalArgumentException("Pattern databases hold between 1 and " + MAX_DISKS + " disks: " + goal.length);
+        }
+        int goalIndex = index(goal);
+        long key = (long) goal.length << 32 | goalIndex;
+        Path file = directory == null ? null : directory.resolve("pdb-" + goal.length + "-" + Integer.toHexString(goalIndex) + ".bin");
+        PatternDatabase database = LOADED.computeIfAbsent(key, k -> {
+            try {
+                PatternDatabase loaded = file != null && Files.exists(file) ? read(file, goal.length) : null;
+                if (loaded == null) {
+                    loaded = build(goal.length, goalIndex);
+                    if (file != null) {
+                        loaded.write(file);
+                    }
+                }
+                return loaded;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        // Loaded once for all directories, but every directory given gets its file
+        if (file != null && !Files.exists(file)) {
+            try {
+                database.write(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return database;
+    }
+
+    /**
+     * Peg relabeling that makes {@code goal[from, from+count)} canonical: {@code map[peg]}
+     * is the canonical label of {@code peg}.
+     */
+    public static int[] canonicalPegs(int[] goal, int from, int count) {
+        int[] map = {-1, -1, -1, -1};
+        int next = 0;
+        for (int disk = from + count - 1; disk >= from; disk--) {
+            if (map[goal[disk]] < 0) {
+                map[goal[disk]] = next++;
+            }
+        }
+        for (int peg = 0; peg < PEGS; peg++) {
+            if (map[peg] < 0) {
+                map[peg] = next++;
+            }
+        }
+        return map;
+    }
+
+    public int numDisks() {
+        return numDisks;
+    }
+
+    /** Distance of the configuration with base-4 {@code index} (disk i in digit i). */
+    public int distance(int index) {
+        return distances[index] & 0xFF;
+    }
+
+    static int index(int[] pegs) {
+        int index = 0;
+        for (int disk = pegs.length - 1; disk >= 0; disk--) {
+            index = index << 2 | pegs[disk];
+        }
+        return index;
+    }
+
+    private static PatternDatabase build(int numDisks, int goal) {
+        int size = 1 << (2 * numDisks);
+        byte[] distances = new byte[size];
+        Arrays.fill(distances, (byte) -1);
+        int[] queue = new int[size];
+        int head = 0;
+        int tail = 0;
+
+        distances[goal] = 0;
+        queue[tail++] = goal;
+        int[] tops = new int[PEGS];
+        while (head < tail) {
+            int state = queue[head++];
+            int next = (distances[state] & 0xFF) + 1;
+            topDisks(state, numDisks, tops);
+            for (int from = 0; from < PEGS; from++) {
+                int disk = tops[from];
+                if (disk < 0) continue;
+                for (int to = 0; to < PEGS; to++) {
+                    if (to == from || (tops[to] >= 0 && tops[to] < disk)) continue;
+                    int neighbour = state ^ ((from ^ to) << (2 * disk));
+                    if (distances[neighbour] == -1) {
+                        distances[neighbour] = (byte) next;
+                        queue[tail++] = neighbour;
+                    }
+                }
+            }
+        }
+        return new PatternDatabase(numDisks, distances);
+    }
+
+    // Smallest disk on every peg, -1 for an empty peg
+    private static void topDisks(int state, int numDisks, int[] tops) {
+        Arrays.fill(tops, -1);
+        int found = 0;
+        for (int disk = 0; disk < numDisks && found < PEGS; disk++) {
+            int peg = (state >>> (2 * disk)) & 3;
+            if (tops[peg] < 0) {
+                tops[peg] = disk;
+                found++;
+            }
+        }
+    }
+
+    private static PatternDatabase read(Path file, int numDisks) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        int size = 1 << (2 * numDisks);
+        ByteBuffer header = ByteBuffer.wrap(bytes);
+        if (bytes.length != 12 + size || header.getLong() != MAGIC || header.getInt() != numDisks) {
+            return null;  // stale or foreign file, rebuilt and overwritten
+        }
+        byte[] distances = new byte[size];
+        System.arraycopy(bytes, 12, distances, 0, size);
+        return new PatternDatabase(numDisks, distances);
+    }
+
+    private void write(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        ByteBuffer bytes = ByteBuffer.allocate(12 + distances.length);
+        bytes.putLong(MAGIC).putInt(numDisks).put(distances);
+        // Written aside and moved, so a concurrent reader never sees half a table
+        Path temporary = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        Files.write(temporary, bytes.array());
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,316 @@
+package com.example.algoproject.solver;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Thread-safe cache of complete solutions keyed by algorithm, disk count, peg count, source
+ * and target peg, bounded by the bytes of the packed moves it holds. Cached buffers are
+ * read-only and handed out as they are, so a hit costs one map lookup and no copy.
+ * <p>
+ * Concurrent requests for a missing key share one computation. To make room, the least
+ * recently used entries are evicted, but only if the newcomer has been asked for at least as
+ * often as each of them (TinyLFU admission, request frequencies kept in a count-min sketch
+ * that halves itself periodically), so a one-off large solve doesn't flush popular ones.
+ * A miss for any source and target is relabeled from the canonical solution (source 0, target
+ * the last peg), itself an ordinary entry, so each algorithm, disk and peg count is solved once.
+ */
+public final class SolutionCache {
+    public static final long DEFAULT_MAX_BYTES = 256L << 20;
+
+    private static final long ENTRY_OVERHEAD_BYTES = 128;
+    private static final SolutionCache SHARED = new SolutionCache(DEFAULT_MAX_BYTES);
+
+    private final long maxBytes;
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Key, CompletableFuture<MoveBuffer>> loading = new ConcurrentHashMap<>();
+    private final FrequencySketch frequencies = new FrequencySketch();
+    private final AtomicLong clock = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder sharedLoads = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private long cachedBytes;  // guarded by this
+
+    public SolutionCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /** Cache shared by the console and FX front ends. */
+    public static SolutionCache shared() {
+        return SHARED;
+    }
+
+    /** Moves of {@code algorithm} for n disks from {@code source} to {@code target}, solved on a miss. */
+    public MoveBuffer get(HanoiAlgorithm algorithm, int n, int pegs, int source, int target) {
+        if (source == 0 && target == pegs - 1) {
+            return get(algorithm, n, pegs, source, target, () -> solve(algorithm, n, pegs, source, target));
+        }
+        return get(algorithm, n, pegs, source, target,
+                () -> get(algorithm, n, pegs, 0, pegs - 1).relabeled(labels(pegs, source, target)));
+    }
+
+    /**
+     * Same, computed by {@code loader} on a miss; callers asking for the key meanwhile wait for
+     * that computation. The result is made read-only, whether the cache keeps it or not.
+     */
+    public MoveBuffer get(HanoiAlgorithm algorithm, int n, int pegs, int source, int target, Supplier<MoveBuffer> loader) {
+        Key key = key(algorithm, n, pegs, source, target);
+        MoveBuffer cached = lookup(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<MoveBuffer> load = new CompletableFuture<>();
+        CompletableFuture<MoveBuffer> running = loading.putIfAbsent(key, load);
+        if (running != null) {
+            sharedLoads.increment();
+            return await(running);
+        }
+        try {
+            // Admitted by another load between the lookup and claiming the key
+            Entry entry = entries.get(key);
+            MoveBuffer moves = entry != null ? entry.moves : loader.get();
+            moves.makeReadOnly();
+            if (entry == null) {
+                admit(key, moves);
+            }
+            load.complete(moves);
+            return moves;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, load);
+        }
+    }
+
+    /** The cached moves, or null; never computes anything. */
+    public MoveBuffer getIfPresent(HanoiAlgorithm algorithm, int n, int pegs, int source, int target) {
+        return lookup(key(algorithm, n, pegs, source, target));
+    }
+
+    /** Offers moves computed elsewhere; they become read-only and may be turned away by admission. */
+    public void put(HanoiAlgorithm algorithm, int n, int pegs, int source, int target, MoveBuffer moves) {
+        Key key = key(algorithm, n, pegs, source, target);
+        moves.makeReadOnly();
+        admit(key, moves);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        cachedBytes = 0;
+    }
+
+    public Stats stats() {
+        long bytes;
+        synchronized (this) {
+            bytes = cachedBytes;
+        }
+        return new Stats(hits.sum(), misses.sum(), sharedLoads.sum(), evictions.sum(), rejections.sum(), entries.size(), bytes);
+    }
+
+    /**
+     * Counters since the cache was created. A miss that waited for another caller's
+     * computation is also counted in {@code sharedLoads}; {@code rejections} are results
+     * that weren't kept, because they were too big or asked for less often than what they
+     * would have replaced.
+     */
+    public record Stats(long hits, long misses, long sharedLoads, long evictions, long rejections, int entries, long bytes) {
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0 : (double) hits / requests;
+        }
+    }
+
+    /** Solves into a buffer of the exact size, other pegs taking the spare roles in increasing order. */
+    static MoveBuffer solve(HanoiAlgorithm algorithm, int n, int pegs, int source, int target) {
+        long count = pegs == 4 ? algorithm.table(n).moveCount(n) : MultiPegFrameStewart.moveCount(n, pegs);
+        if (count > MoveBuffer.MAX_CAPACITY) {
+            throw new IllegalStateException("Move buffer cannot hold the " + count + " moves of " + n + " disks");
+        }
+        int[] labels = labels(pegs, source, target);
+
+        MoveBuffer moves = new MoveBuffer((int) count);
+        if (pegs == 4) {
+            MoveGenerator.of(algorithm.table(n), n, source, target, labels[1], labels[2]).drainTo(moves);
+            return moves;
+        }
+        MultiPegFrameStewart.solve(n, pegs, moves);
+        return source == 0 && target == pegs - 1 ? moves : moves.relabeled(labels);
+    }
+
+    // Peg that takes each canonical role: source first, target last, the spares in increasing order
+    static int[] labels(int pegs, int source, int target) {
+        int[] labels = new int[pegs];
+        labels[0] = source;
+        labels[pegs - 1] = target;
+        for (int peg = 0, spare = 1; peg < pegs; peg++) {
+            if (peg != source && peg != target) {
+                labels[spare++] = peg;
+            }
+        }
+        return labels;
+    }
+
+    private MoveBuffer lookup(Key key) {
+        frequencies.increment(key.hashCode());
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        entry.lastAccess = clock.incrementAndGet();
+        hits.increment();
+        return entry.moves;
+    }
+
+    private synchronized void admit(Key key, MoveBuffer moves) {
+        long bytes = moves.retainedBytes() + ENTRY_OVERHEAD_BYTES;
+        if (bytes > maxBytes) {
+            rejections.increment();
+            return;
+        }
+        if (entries.containsKey(key)) {
+            return;
+        }
+
+        List<Entry> victims = new ArrayList<>();
+        if (cachedBytes + bytes > maxBytes) {
+            // Access times are snapshotted, hits keep updating them while this sorts
+            List<Aged> byAge = new ArrayList<>(entries.size());
+            for (Entry entry : entries.values()) {
+                byAge.add(new Aged(entry.lastAccess, entry));
+            }
+            byAge.sort(Comparator.comparingLong(Aged::lastAccess));
+
+            int frequency = frequencies.frequency(key.hashCode());
+            long freed = 0;
+            for (Aged aged : byAge) {
+                if (cachedBytes - freed + bytes <= maxBytes) break;
+                if (frequencies.frequency(aged.entry.key.hashCode()) > frequency) {
+                    rejections.increment();
+                    return;
+                }
+                victims.add(aged.entry);
+                freed += aged.entry.bytes;
+            }
+        }
+        for (Entry victim : victims) {
+            entries.remove(victim.key);
+            cachedBytes -= victim.bytes;
+            evictions.increment();
+        }
+        entries.put(key, new Entry(key, moves, bytes, clock.incrementAndGet()));
+        cachedBytes += bytes;
+    }
+
+    private static MoveBuffer await(CompletableFuture<MoveBuffer> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw e;
+        }
+    }
+
+    private static Key key(HanoiAlgorithm algorithm, int n, int pegs, int source, int target) {
+        if (pegs < 3 || pegs > MultiPegFrameStewart.MAX_PEGS) {
+            throw new IllegalArgumentException("Number of pegs must be between 3 and " + MultiPegFrameStewart.MAX_PEGS + ": " + pegs);
+        }
+        if (pegs != 4 && algorithm != HanoiAlgorithm.FRAME_STEWART) {
+            throw new IllegalArgumentException("Only " + HanoiAlgorithm.FRAME_STEWART + " supports a peg count other than 4");
+        }
+        if (source < 0 || source >= pegs || target < 0 || target >= pegs || source == target) {
+            throw new IllegalArgumentException("Source and target must be different pegs of " + pegs + ": " + source + ", " + target);
+        }
+        if (n < 0) {
+            throw new IllegalArgumentException("Number of disks must not be negative: " + n);
+        }
+        return new Key(algorithm, n, pegs, source, target);
+    }
+
+    private record Key(HanoiAlgorithm algorithm, int n, int pegs, int source, int target) {
+    }
+
+    private record Aged(long lastAccess, Entry entry) {
+    }
+
+    private static final class Entry {
+        final Key key;
+        final MoveBuffer moves;
+        final long bytes;
+        volatile long lastAccess;
+
+        Entry(Key key, MoveBuffer moves, long bytes, long lastAccess) {
+            this.key = key;
+            this.moves = moves;
+            this.bytes = bytes;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    /**
+     * Count-min sketch of 4-bit counters, 16 to a word, four rows. Counters saturate at 15 and
+     * all of them are halved every {@link #RESET_PERIOD} increments, so old popularity fades.
+     */
+    private static final class FrequencySketch {
+        private static final int ROWS = 4;
+        private static final int WIDTH_BITS = 12;
+        private static final int WORDS_PER_ROW = (1 << WIDTH_BITS) / 16;
+        private static final int RESET_PERIOD = 10 << WIDTH_BITS;
+        private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+        private final AtomicLongArray counters = new AtomicLongArray(ROWS * WORDS_PER_ROW);
+        private final AtomicLong increments = new AtomicLong();
+
+        void increment(int hash) {
+            for (int row = 0; row < ROWS; row++) {
+                int counter = index(hash, row);
+                int word = row * WORDS_PER_ROW + (counter >>> 4);
+                int shift = (counter & 15) << 2;
+                long value;
+                do {
+                    value = counters.get(word);
+                } while (((value >>> shift) & 15) != 15 && !counters.compareAndSet(word, value, value + (1L << shift)));
+            }
+            if (increments.incrementAndGet() % RESET_PERIOD == 0) {
+                halve();
+            }
+        }
+
+        int frequency(int hash) {
+            int min = 15;
+            for (int row = 0; row < ROWS; row++) {
+                int counter = index(hash, row);
+                long value = counters.get(row * WORDS_PER_ROW + (counter >>> 4));
+                min = Math.min(min, (int) (value >>> ((counter & 15) << 2)) & 15);
+            }
+            return min;
+        }
+
+        private void halve() {
+            for (int word = 0; word < counters.length(); word++) {
+                long value;
+                do {
+                    value = counters.get(word);
+                } while (!counters.compareAndSet(word, value, (value >>> 1) & 0x7777_7777_7777_7777L));
+            }
+        }
+
+        private static int index(int hash, int row) {
+            int h = (hash ^ (hash >>> 16)) * SEEDS[row];
+            return h >>> (Integer.SIZE - WIDTH_BITS);
+        }
+    }
+}
@@ -0,0 +1,512 @@
+package com.example.algoproject.solver;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A solution kept as the recursion that produces it instead of as its moves. Every sub-problem
+ * of a given size is one shared node, solved from its peg 0 to its peg 1 with the other pegs
+ * spare; the edges to its children carry the relabeling of the child's pegs and the offset of
+ * its disks. Frame-Stewart solutions therefore take O(n) nodes (O(n * P) with P pegs), and
+ * three-peg sub-solutions are leaves whose moves follow from the binary rule.
+ * <p>
+ * A dag is an immutable view of a root node: a window of its moves, possibly reversed, with
+ * its pegs relabeled. Length is O(1); looking up a move descends the recursion once; slicing,
+ * reversal (the reversed moves solve the inverse problem) and relabeling only build a new view.
+ * Moves are produced on demand by {@link #drainTo}.
+ */
+public final class SolutionDag {
+    private static final int MAGIC = 0x48444147;  // "HDAG"
+    private static final int VERSION = 1;
+
+    private static final int EMPTY = 0;
+    private static final int THREE_PEG = 1;
+    private static final int COMPOSITE = 2;
+    private static final int LITERAL = 3;
+
+    private final Node root;
+    private final int pegs;
+    private final int[] pegMap;  // root peg -> puzzle peg, one per peg of the root
+    private final long start;    // window in the root's moves
+    private final long length;
+    private final boolean reversed;
+
+    private SolutionDag(Node root, int pegs, int[] pegMap, long start, long length, boolean reversed) {
+        this.root = root;
+        this.pegs = pegs;
+        this.pegMap = pegMap.length == root.pegs ? pegMap : Arrays.copyOf(pegMap, root.pegs);
+        this.start = start;
+        this.length = length;
+        this.reversed = reversed;
+    }
+
+    /** All n disks from peg 0 to peg 3, as {@link MoveGenerator#of(HanoiAlgorithm, int)} produces them. */
+    public static SolutionDag of(HanoiAlgorithm algorithm, int n) {
+        return of(algorithm.table(n), n, 0, 3, 1, 2);
+    }
+
+    public static SolutionDag of(SplitTable table, int n, int source, int target, int aux1, int aux2) {
+        table.moveCount(n);  // throws before building when the moves don't fit in a long
+        Node root = new Builder(table, null).build(n, 4);
+        return new SolutionDag(root, 4, new int[]{source, target, aux1, aux2}, 0, root.length, false);
+    }
+
+    /** n disks from peg 0 to the last of {@code pegs} pegs, as {@link MultiPegFrameStewart#solve} produces them. */
+    public static SolutionDag multiPeg(int n, int pegs) {
+        MultiPegFrameStewart.Table table = MultiPegFrameStewart.table(n, pegs);
+        table.moveCount(n, pegs);
+        Node root = new Builder(null, table).build(n, pegs);
+        int[] pegMap = new int[pegs];
+        pegMap[1] = pegs - 1;
+        for (int i = 2; i < pegs; i++) {
+            pegMap[i] = i - 1;
+        }
+        return new SolutionDag(root, pegs, pegMap, 0, root.length, false);
+    }
+
+    public static SolutionDag threePeg(int n, int source, int target, int auxiliary) {
+        Node root = threePegNode(n);
+        return new SolutionDag(root, 3, new int[]{source, target, auxiliary}, 0, root.length, false);
+    }
+
+    /** Moves without structure to share, such as an optimal solution from a configuration; stored as they are. */
+    public static SolutionDag of(MoveBuffer moves, int numDisks, int pegs) {
+        Node root = new Node(LITERAL, numDisks, pegs, moves.size(), 0, null, null, null, null, moves.toArray());
+        return new SolutionDag(root, pegs, identity(pegs), 0, root.length, false);
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public int numDisks() {
+        return root.disks;
+    }
+
+    public int pegs() {
+        return pegs;
+    }
+
+    /** Distinct nodes of the underlying recursion, shared by every view of it. */
+    public int nodeCount() {
+        return collectNodes().size();
+    }
+
+    public Move moveAt(long index) {
+        int packed = packedMoveAt(index);
+        return new Move(MoveBuffer.fromPegOf(packed), MoveBuffer.toPegOf(packed), MoveBuffer.diskIndexOf(packed));
+    }
+
+    /** The move at {@code index} (0-based), packed as in {@link MoveBuffer}. */
+    public int packedMoveAt(long index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Move " + index + " out of " + length);
+        }
+        long position = reversed ? start + length - 1 - index : start + index;
+        int[] map = pegMap.clone();
+        int[] childMap = new int[pegs];
+        Node node = root;
+        int diskOffset = 0;
+        while (node.kind == COMPOSITE) {
+            int child = 0;
+            while (position >= node.starts[child] + node.children[child].length) {
+                child++;
+            }
+            Node next = node.children[child];
+            int[] edge = node.maps[child];
+            for (int i = 0; i < next.pegs; i++) {
+                childMap[i] = map[edge[i]];
+            }
+            int[] swap = map;
+            map = childMap;
+            childMap = swap;
+            position -= node.starts[child];
+            diskOffset += node.diskOffsets[child];
+            node = next;
+        }
+
+        int packed = node.kind == THREE_PEG
+                ? ThreePegSolver.packedMoveAt(node.disks, 0, 1, 2, 0, position)
+                : node.literal[(int) position];
+        int from = map[MoveBuffer.fromPegOf(packed)];
+        int to = map[MoveBuffer.toPegOf(packed)];
+        int disk = diskOffset + MoveBuffer.diskIndexOf(packed);
+        return reversed ? MoveBuffer.pack(to, from, disk) : MoveBuffer.pack(from, to, disk);
+    }
+
+    /** Moves {@code from} (inclusive) to {@code to} (exclusive) of this one. */
+    public SolutionDag slice(long from, long to) {
+        if (from < 0 || to > length || from > to) {
+            throw new IndexOutOfBoundsException("Slice " + from + ".." + to + " out of " + length);
+        }
+        long sliceStart = reversed ? start + length - to : start + from;
+        return new SolutionDag(root, pegs, pegMap, sliceStart, to - from, reversed);
+    }
+
+    /** The moves backwards, each from its target to its source: the solution of the inverse problem. */
+    public SolutionDag reversed() {
+        return new SolutionDag(root, pegs, pegMap, start, length, !reversed);
+    }
+
+    /** The same moves with peg p renamed to {@code pegMap[p]}; the map must be a permutation. */
+    public SolutionDag relabeled(int[] pegMap) {
+        if (pegMap.length != pegs) {
+            throw new IllegalArgumentException("Peg map must have " + pegs + " entries: " + pegMap.length);
+        }
+        boolean[] seen = new boolean[pegs];
+        for (int peg : pegMap) {
+            if (peg < 0 || peg >= pegs || seen[peg]) {
+                throw new IllegalArgumentException("Peg map is not a permutation: " + Arrays.toString(pegMap));
+            }
+            seen[peg] = true;
+        }
+        int[] composed = new int[this.pegMap.length];
+        for (int i = 0; i < composed.length; i++) {
+            composed[i] = pegMap[this.pegMap[i]];
+        }
+        return new SolutionDag(root, pegs, composed, start, length, reversed);
+    }
+
+    /** Writes every move of this view into {@code sink}, keeping only one peg map per level. */
+    public void drainTo(MoveSink sink) {
+        if (length == 0) return;
+        int[][] maps = new int[root.height + 1][pegs];
+        System.arraycopy(pegMap, 0, maps[0], 0, pegMap.length);
+        expand(root, maps, 0, 0, start, start + length, sink);
+    }
+
+    public MoveBuffer toMoveBuffer() {
+        if (length > MoveBuffer.MAX_CAPACITY) {
+            throw new IllegalStateException("Move buffer cannot hold " + length + " moves");
+        }
+        MoveBuffer moves = new MoveBuffer((int) length);
+        drainTo(moves);
+        return moves;
+    }
+
+    // Moves from..to of node, in the node's own move order; reversed views walk it backwards
+    private void expand(Node node, int[][] maps, int depth, int diskOffset, long from, long to, MoveSink sink) {
+        int[] map = maps[depth];
+        switch (node.kind) {
+            case THREE_PEG -> {
+                if (from == 0 && to == node.length) {
+                    // The optimal three-peg solution is unique, so its reverse is the one from target to source
+                    ThreePegSolver.solve(node.disks, reversed ? map[1] : map[0], reversed ? map[0] : map[1], map[2], diskOffset, sink);
+                    return;
+                }
+                for (long i = from; i < to; i++) {
+                    emit(ThreePegSolver.packedMoveAt(node.disks, 0, 1, 2, 0, reversed ? from + to - 1 - i : i), map, diskOffset, sink);
+                }
+            }
+            case LITERAL -> {
+                for (long i = from; i < to; i++) {
+                    emit(node.literal[(int) (reversed ? from + to - 1 - i : i)], map, diskOffset, sink);
+                }
+            }
+            case COMPOSITE -> {
+                int[] childMap = maps[depth + 1];
+                int count = node.children.length;
+                for (int j = 0; j < count; j++) {
+                    int child = reversed ? count - 1 - j : j;
+                    Node next = node.children[child];
+                    long childStart = node.starts[child];
+                    long childFrom = Math.max(from, childStart);
+                    long childTo = Math.min(to, childStart + next.length);
+                    if (childFrom >= childTo) continue;
+                    int[] edge = node.maps[child];
+                    for (int i = 0; i < next.pegs; i++) {
+                        childMap[i] = map[edge[i]];
+                    }
+                    expand(next, maps, depth + 1, diskOffset + node.diskOffsets[child],
+                            childFrom - childStart, childTo - childStart, sink);
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void emit(int packed, int[] map, int diskOffset, MoveSink sink) {
+        int from = map[MoveBuffer.fromPegOf(packed)];
+        int to = map[MoveBuffer.toPegOf(packed)];
+        int disk = diskOffset + MoveBuffer.diskIndexOf(packed);
+        if (reversed) {
+            sink.move(to, from, disk);
+        } else {
+            sink.move(from, to, disk);
+        }
+    }
+
+    /**
+     * Writes the nodes and this view; the moves themselves are never expanded, so even solutions
+     * with 2^60 moves take a few kilobytes.
+     */
+    public void write(DataOutput out) throws IOException {
+        List<Node> nodes = collectNodes();
+        Map<Node, Integer> ids = new IdentityHashMap<>();
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeByte(pegs);
+        out.writeInt(nodes.size());
+        for (Node node : nodes) {
+            out.writeByte(node.kind);
+            out.writeInt(node.disks);
+            out.writeByte(node.pegs);
+            if (node.kind == COMPOSITE) {
+                out.writeInt(node.children.length);
+                for (int child = 0; child < node.children.length; child++) {
+                    out.writeInt(ids.get(node.children[child]));
+                    out.writeInt(node.diskOffsets[child]);
+                    for (int i = 0; i < node.children[child].pegs; i++) {
+                        out.writeByte(node.maps[child][i]);
+                    }
+                }
+            } else if (node.kind == LITERAL) {
+                out.writeInt(node.literal.length);
+                for (int packed : node.literal) {
+                    out.writeInt(packed);
+                }
+            }
+            ids.put(node, ids.size());
+        }
+        out.writeLong(start);
+        out.writeLong(length);
+        out.writeBoolean(reversed);
+        for (int peg : pegMap) {
+            out.writeByte(peg);
+        }
+    }
+
+    /** Reads what {@link #write} wrote, checking every reference and bound. */
+    public static SolutionDag read(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC || in.readUnsignedByte() != VERSION) {
+            throw new IOException("Not a solution dag");
+        }
+        int pegs = in.readUnsignedByte();
+        int count = in.readInt();
+        if (pegs < 3 || count < 1) {
+            throw malformed("header");
+        }
+        List<Node> nodes = new ArrayList<>();
+        for (int id = 0; id < count; id++) {
+            int kind = in.readUnsignedByte();
+            int disks = in.readInt();
+            int nodePegs = in.readUnsignedByte();
+            if (disks < 0 || nodePegs < 3 || nodePegs > pegs) {
+                throw malformed("node " + id);
+            }
+            Node node = switch (kind) {
+                case EMPTY -> Node.EMPTY_NODE;
+                case THREE_PEG -> {
+                    if (nodePegs != 3 || disks < 1 || disks > ThreePegSolver.MAX_DISKS) throw malformed("node " + id);
+                    yield threePegNode(disks);
+                }
+                case COMPOSITE -> {
+                    int childCount = in.readInt();
+                    if (childCount < 0 || childCount > count) throw malformed("node " + id);
+                    Node[] children = new Node[childCount];
+                    int[][] maps = new int[childCount][];
+                    int[] diskOffsets = new int[childCount];
+                    for (int child = 0; child < childCount; child++) {
+                        int childId = in.readInt();
+                        if (childId < 0 || childId >= id) throw malformed("node " + id);
+                        children[child] = nodes.get(childId);
+                        diskOffsets[child] = in.readInt();
+                        if (diskOffsets[child] < 0 || diskOffsets[child] + children[child].disks > disks) {
+                            throw malformed("node " + id);
+                        }
+                        maps[child] = new int[children[child].pegs];
+                        for (int i = 0; i < maps[child].length; i++) {
+                            maps[child][i] = in.readUnsignedByte();
+                            if (maps[child][i] >= nodePegs) throw malformed("node " + id);
+                        }
+                    }
+                    try {
+                        yield composite(disks, nodePegs, children, maps, diskOffsets);
+                    } catch (ArithmeticException e) {
+                        throw malformed("node " + id);
+                    }
+                }
+                case LITERAL -> {
+                    int size = in.readInt();
+                    if (size < 0 || size > MoveBuffer.MAX_CAPACITY) throw malformed("node " + id);
+                    int[] literal = new int[size];
+                    for (int i = 0; i < size; i++) {
+                        literal[i] = in.readInt();
+                        if (MoveBuffer.fromPegOf(literal[i]) >= nodePegs || MoveBuffer.toPegOf(literal[i]) >= nodePegs
+                                || MoveBuffer.diskIndexOf(literal[i]) >= disks) {
+                            throw malformed("node " + id);
+                        }
+                    }
+                    yield new Node(LITERAL, disks, nodePegs, size, 0, null, null, null, null, literal);
+                }
+                default -> throw malformed("node " + id);
+            };
+            nodes.add(node);
+        }
+
+        Node root = nodes.get(count - 1);
+        long start = in.readLong();
+        long length = in.readLong();
+        boolean reversed = in.readBoolean();
+        int[] pegMap = new int[root.pegs];
+        for (int i = 0; i < pegMap.length; i++) {
+            pegMap[i] = in.readUnsignedByte();
+            if (pegMap[i] >= pegs) throw malformed("peg map");
+        }
+        if (start < 0 || length < 0 || start > root.length - length) {
+            throw malformed("window");
+        }
+        return new SolutionDag(root, pegs, pegMap, start, length, reversed);
+    }
+
+    private static IOException malformed(String part) {
+        return new IOException("Malformed solution dag: " + part);
+    }
+
+    // Children before their parents, the root last
+    private List<Node> collectNodes() {
+        List<Node> nodes = new ArrayList<>();
+        collect(root, new IdentityHashMap<>(), nodes);
+        return nodes;
+    }
+
+    private static void collect(Node node, Map<Node, Boolean> seen, List<Node> nodes) {
+        if (seen.put(node, Boolean.TRUE) != null) return;
+        if (node.kind == COMPOSITE) {
+            for (Node child : node.children) {
+                collect(child, seen, nodes);
+            }
+        }
+        nodes.add(node);
+    }
+
+    private static int[] identity(int pegs) {
+        int[] map = new int[pegs];
+        for (int i = 0; i < pegs; i++) {
+            map[i] = i;
+        }
+        return map;
+    }
+
+    private static Node threePegNode(int n) {
+        if (n == 0) return Node.EMPTY_NODE;
+        return new Node(THREE_PEG, n, 3, ThreePegSolver.moveCount(n), 0, null, null, null, null, null);
+    }
+
+    private static Node composite(int disks, int pegs, Node[] children, int[][] maps, int[] diskOffsets) {
+        long[] starts = new long[children.length];
+        long length = 0;
+        int height = 0;
+        for (int i = 0; i < children.length; i++) {
+            starts[i] = length;
+            length = Math.addExact(length, children[i].length);
+            height = Math.max(height, children[i].height);
+        }
+        return new Node(COMPOSITE, disks, pegs, length, height + 1, children, maps, diskOffsets, starts, null);
+    }
+
+    /**
+     * Sub-problem of {@code disks} disks from peg 0 to peg 1 of its {@code pegs} pegs. Edge
+     * {@code maps[i][p]} is the peg of this node that child i calls p.
+     */
+    private static final class Node {
+        static final Node EMPTY_NODE = new Node(EMPTY, 0, 3, 0, 0, null, null, null, null, null);
+
+        final int kind;
+        final int disks;
+        final int pegs;
+        final long length;
+        final int height;
+        final Node[] children;
+        final int[][] maps;
+        final int[] diskOffsets;
+        final long[] starts;
+        final int[] literal;
+
+        Node(int kind, int disks, int pegs, long length, int height, Node[] children, int[][] maps,
+             int[] diskOffsets, long[] starts, int[] literal) {
+            this.kind = kind;
+            this.disks = disks;
+            this.pegs = pegs;
+            this.length = length;
+            this.height = height;
+            this.children = children;
+            this.maps = maps;
+            this.diskOffsets = diskOffsets;
+            this.starts = starts;
+            this.literal = literal;
+        }
+    }
+
+    // One node per (disks, pegs), following the splits of a four-peg or a multi-peg table
+    private static final class Builder {
+        private final SplitTable fourPeg;
+        private final MultiPegFrameStewart.Table multiPeg;
+        private final Map<Long, Node> nodes = new HashMap<>();
+
+        Builder(SplitTable fourPeg, MultiPegFrameStewart.Table multiPeg) {
+            this.fourPeg = fourPeg;
+            this.multiPeg = multiPeg;
+        }
+
+        Node build(int n, int pegs) {
+            if (n <= 1 || pegs == 3) {
+                return threePegNode(n);
+            }
+            Long key = (long) n << 8 | pegs;
+            Node node = nodes.get(key);
+            if (node != null) {
+                return node;
+            }
+
+            int k = fourPeg != null ? fourPeg.split(n) : multiPeg.split(n, pegs);
+            if (k == 0) {
+                // Three-peg algorithm over the first spare peg
+                node = threePegNode(n);
+            } else {
+                // Step 1: n-k disks to the first spare over all pegs, step 2: k disks to the
+                // target without it, step 3: the n-k disks back on top
+                int[] step1 = new int[pegs];
+                int[] step2 = new int[pegs - 1];
+                int[] step3 = new int[pegs];
+                step1[1] = 2;
+                step2[1] = 1;
+                step3[0] = 2;
+                step3[1] = 1;
+                for (int i = 2; i < pegs - 1; i++) {
+                    step1[i] = i + 1;
+                    step2[i] = i + 1;
+                    step3[i] = i == 2 ? 0 : i;
+                }
+                step1[pegs - 1] = 1;
+                step3[pegs - 1] = pegs - 1;
+
+                List<Node> children = new ArrayList<>(3);
+                List<int[]> maps = new ArrayList<>(3);
+                List<Integer> offsets = new ArrayList<>(3);
+                addChild(children, maps, offsets, build(n - k, pegs), step1, 0);
+                addChild(children, maps, offsets, build(k, pegs - 1), step2, n - k);
+                addChild(children, maps, offsets, build(n - k, pegs), step3, 0);
+                node = composite(n, pegs, children.toArray(new Node[0]), maps.toArray(new int[0][]),
+                        offsets.stream().mapToInt(Integer::intValue).toArray());
+            }
+            nodes.put(key, node);
+            return node;
+        }
+
+        private static void addChild(List<Node> children, List<int[]> maps, List<Integer> offsets, Node child, int[] map, int diskOffset) {
+            if (child.length == 0) return;
+            children.add(child);
+            maps.add(map);
+            offsets.add(diskOffset);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.algoproject.solver;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder events of the solvers. They are only created while {@link SolverMetrics}
+ * is enabled, and only written while a recording has them enabled.
+ */
+final class SolverEvents {
+    private static final String CATEGORY = "Tower of Hanoi";
+
+    private SolverEvents() {
+    }
+
+    @Name("com.example.algoproject.TableBuild")
+    @Label("Split Table Build")
+    @Description("Optimal split of every disk count computed for an algorithm")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class TableBuild extends Event {
+        @Label("Algorithm")
+        String algorithm;
+
+        @Label("Disks")
+        int disks;
+    }
+
+    @Name("com.example.algoproject.FrameStewartSplit")
+    @Label("Frame-Stewart Split")
+    @Description("n disks split into n-k moved twice with four pegs and k moved once with three")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class FrameStewartSplit extends Event {
+        @Label("Disks")
+        int disks;
+
+        @Label("k")
+        int k;
+
+        @Label("Rest")
+        int rest;
+    }
+
+    @Name("com.example.algoproject.ThreePegSolve")
+    @Label("Three-Peg Solve")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class ThreePegSolve extends Event {
+        @Label("Disks")
+        int disks;
+
+        @Label("Moves")
+        long moves;
+    }
+
+    @Name("com.example.algoproject.Phase")
+    @Label("Solver Phase")
+    @Description("Generation or output of a whole move sequence")
+    @Category(CATEGORY)
+    static final class Phase extends Event {
+        @Label("Phase")
+        String phase;
+
+        @Label("Algorithm")
+        String algorithm;
+
+        @Label("Disks")
+        int disks;
+
+        @Label("Moves")
+        long moves;
+
+        @Label("Allocated")
+        @DataAmount
+        long allocated;
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.algoproject.solver;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Switch and in-process registry for solver instrumentation. While disabled the solvers only
+ * test a flag (move generators read it once when created) and {@link #begin} hands out a
+ * shared no-op span, so nothing is allocated or recorded. While enabled every phase adds to
+ * the counters here and emits {@link SolverEvents}; with a recording file they are also
+ * written to a Flight Recorder recording, together with the JDK's default events.
+ */
+public final class SolverMetrics {
+    public enum Phase { GENERATE, OUTPUT }
+
+    private static final Span NO_SPAN = new Span(null, null, 0);
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private static volatile boolean enabled;
+    private static Recording recording;  // guarded by SolverMetrics.class
+
+    private static final LongAdder[] moves = {new LongAdder(), new LongAdder()};
+    private static final LongAdder[] nanos = {new LongAdder(), new LongAdder()};
+    private static final LongAdder[] allocated = {new LongAdder(), new LongAdder()};
+    private static final LongAdder splits = new LongAdder();
+    private static final LongAdder threePegSolves = new LongAdder();
+    private static final LongAccumulator peakDepth = new LongAccumulator(Math::max, 0);
+
+    private SolverMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns instrumentation on, and with a {@code recordingFile} starts a Flight Recorder
+     * recording that is written there by {@link #disable}.
+     */
+    public static synchronized void enable(Path recordingFile) throws IOException {
+        if (recordingFile != null && recording == null) {
+            try {
+                recording = new Recording(Configuration.getConfiguration("default"));
+            } catch (ParseException e) {
+                throw new IOException("Default recording settings can't be read", e);
+            }
+            recording.setName("Tower of Hanoi");
+            recording.enable(SolverEvents.TableBuild.class).withoutThreshold();
+            recording.enable(SolverEvents.FrameStewartSplit.class).withoutThreshold();
+            recording.enable(SolverEvents.ThreePegSolve.class).withoutThreshold();
+            recording.enable(SolverEvents.Phase.class).withoutThreshold();
+            recording.setDestination(recordingFile);
+            recording.setDumpOnExit(true);
+            recording.start();
+        }
+        enabled = true;
+    }
+
+    /** Turns instrumentation off; returns the file the recording was written to, or null. */
+    public static synchronized Path disable() {
+        enabled = false;
+        if (recording == null) {
+            return null;
+        }
+        Path file = recording.getDestination();
+        recording.close();  // stops and writes the destination
+        recording = null;
+        return file;
+    }
+
+    /**
+     * Starts timing a phase of a whole solve; close the span when it is done. A no-op span
+     * while disabled.
+     */
+    public static Span begin(Phase phase, String algorithm, int disks) {
+        return enabled ? new Span(phase, algorithm, disks) : NO_SPAN;
+    }
+
+    public static Snapshot snapshot() {
+        SolutionCache.Stats cache = SolutionCache.shared().stats();
+        return new Snapshot(moves[0].sum(), nanos[0].sum(), allocated[0].sum(), moves[1].sum(), nanos[1].sum(),
+                splits.sum(), threePegSolves.sum(), (int) peakDepth.get(), cache.hits(), cache.misses());
+    }
+
+    public static void reset() {
+        for (int i = 0; i < moves.length; i++) {
+            moves[i].reset();
+            nanos[i].reset();
+            allocated[i].reset();
+        }
+        splits.reset();
+        threePegSolves.reset();
+        peakDepth.reset();
+    }
+
+    /**
+     * Totals since the last {@link #reset}. Generation throughput and allocation count moves of
+     * {@link Phase#GENERATE} spans, output throughput those of {@link Phase#OUTPUT} spans.
+     */
+    public record Snapshot(long generatedMoves, long generationNanos, long generationBytes,
+                           long outputMoves, long outputNanos, long splits, long threePegSolves,
+                           int peakDepth, long cacheHits, long cacheMisses) {
+        public double movesPerSecond() {
+            return generationNanos == 0 ? 0 : generatedMoves * 1e9 / generationNanos;
+        }
+
+        public double outputMovesPerSecond() {
+            return outputNanos == 0 ? 0 : outputMoves * 1e9 / outputNanos;
+        }
+
+        public double bytesPerMove() {
+            return generatedMoves == 0 ? 0 : (double) generationBytes / generatedMoves;
+        }
+
+        /** One line for logs and status bars. */
+        public String summary() {
+            return String.format(Locale.ROOT, "%.0f moves/s, %.2f B/move, output %.0f moves/s, %d splits, "
+                            + "%d 3-peg solves, peak depth %d, cache %d hits / %d misses",
+                    movesPerSecond(), bytesPerMove(), outputMovesPerSecond(), splits,
+                    threePegSolves, peakDepth, cacheHits, cacheMisses);
+        }
+    }
+
+    /** A timed phase; allocation is measured on the thread that began it. */
+    public static final class Span implements AutoCloseable {
+        private final Phase phase;
+        private final SolverEvents.Phase event;
+        private final long start;
+        private final long startBytes;
+        private long spanMoves;
+
+        private Span(Phase phase, String algorithm, int disks) {
+            this.phase = phase;
+            if (phase == null) {
+                event = null;
+                start = 0;
+                startBytes = 0;
+                return;
+            }
+            event = new SolverEvents.Phase();
+            event.phase = phase.name();
+            event.algorithm = algorithm;
+            event.disks = disks;
+            startBytes = allocatedBytes();
+            start = System.nanoTime();
+            event.begin();
+        }
+
+        public void moves(long count) {
+            spanMoves = count;
+        }
+
+        @Override
+        public void close() {
+            if (phase == null) {
+                return;
+            }
+            event.end();
+            long elapsed = System.nanoTime() - start;
+            long bytes = allocatedBytes() - startBytes;
+            int i = phase.ordinal();
+            moves[i].add(spanMoves);
+            nanos[i].add(elapsed);
+            allocated[i].add(bytes);
+            if (event.shouldCommit()) {
+                event.moves = spanMoves;
+                event.allocated = bytes;
+                event.commit();
+            }
+        }
+    }
+
+    // The hooks below are only called by the solvers while enabled
+
+    static SolverEvents.TableBuild beginTableBuild() {
+        SolverEvents.TableBuild event = new SolverEvents.TableBuild();
+        event.begin();
+        return event;
+    }
+
+    static void tableBuilt(SolverEvents.TableBuild event, String algorithm, int disks) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.algorithm = algorithm;
+            event.disks = disks;
+            event.commit();
+        }
+    }
+
+    static void split(int disks, int k) {
+        splits.increment();
+        SolverEvents.FrameStewartSplit event = new SolverEvents.FrameStewartSplit();
+        if (event.isEnabled()) {
+            event.disks = disks;
+            event.k = k;
+            event.rest = disks - k;
+            event.commit();
+        }
+    }
+
+    static SolverEvents.ThreePegSolve beginThreePegSolve() {
+        SolverEvents.ThreePegSolve event = new SolverEvents.ThreePegSolve();
+        event.begin();
+        return event;
+    }
+
+    static void threePegSolved(SolverEvents.ThreePegSolve event, int disks, long moveCount) {
+        threePegSolves.increment();
+        event.end();
+        if (event.shouldCommit()) {
+            event.disks = disks;
+            event.moves = moveCount;
+            event.commit();
+        }
+    }
+
+    static void depth(int depth) {
+        peakDepth.accumulate(depth);
+    }
+
+    private static long allocatedBytes() {
+        return THREADS instanceof com.sun.management.ThreadMXBean threads
+                ? threads.getCurrentThreadAllocatedBytes()
+                : 0;
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.algoproject.solver;
+
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Human-readable trace of what the solvers decide: table builds, Frame-Stewart splits and
+ * DP improvements. The solvers only put a few numbers per event into a bounded lock-free
+ * ring; a background thread formats and prints them, so tracing never blocks a solve. When
+ * the ring is full events are dropped and counted instead. While {@link Level#OFF} the
+ * solvers only test the level (move generators read it once when created).
+ */
+public final class SolverTrace {
+    public enum Level {
+        OFF,
+        /** Table builds and one line per finished solve. */
+        SUMMARY,
+        /** Also every Frame-Stewart split down to the maximum depth. */
+        SPLITS,
+        /** Also every DP improvement and 3-peg solve, and splits at any depth. */
+        FULL
+    }
+
+    public static final int DEFAULT_CAPACITY = 1 << 14;
+    public static final int DEFAULT_MAX_DEPTH = 6;
+
+    private static final int TABLE = 0;
+    private static final int SOLVED = 1;
+    private static final int SPLIT = 2;
+    private static final int IMPROVEMENT = 3;
+    private static final int THREE_PEG = 4;
+
+    private static volatile Level level = Level.OFF;
+    private static volatile int maxDepth = DEFAULT_MAX_DEPTH;
+    private static volatile Writer writer;  // replaced under the SolverTrace.class lock
+
+    private SolverTrace() {
+    }
+
+    public static Level level() {
+        return level;
+    }
+
+    /** Parses a level name as given on the command line, ignoring case. */
+    public static Level parseLevel(String name) {
+        try {
+            return Level.valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown trace level: " + name + ", expected off, summary, splits or full");
+        }
+    }
+
+    public static void start(Level level, PrintStream out) {
+        start(level, out, DEFAULT_MAX_DEPTH, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Starts tracing into {@code out}, replacing a running trace. {@code maxDepth} limits
+     * the splits traced at {@link Level#SPLITS}; {@code capacity} is rounded up to a power
+     * of two.
+     */
+    public static synchronized void start(Level level, PrintStream out, int maxDepth, int capacity) {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("Maximum trace depth can't be negative: " + maxDepth);
+        }
+        if (capacity < 1 || capacity > 1 << 24) {
+            throw new IllegalArgumentException("Trace capacity must be between 1 and " + (1 << 24) + ": " + capacity);
+        }
+        stop();
+        if (level == Level.OFF) {
+            return;
+        }
+        int size = Integer.highestOneBit(capacity);
+        writer = new Writer(new Ring(size < capacity ? size << 1 : size), out);
+        writer.start();
+        SolverTrace.maxDepth = maxDepth;
+        SolverTrace.level = level;
+    }
+
+    /** Stops tracing, waiting until every recorded event is printed; returns how many were dropped. */
+    public static synchronized long stop() {
+        level = Level.OFF;
+        if (writer == null) {
+            return 0;
+        }
+        Writer finished = writer;
+        writer = null;
+        return finished.finish();
+    }
+
+    // The hooks below are only called by the solvers while the level asks for them
+
+    static boolean isEnabled(Level wanted) {
+        return level.compareTo(wanted) >= 0;
+    }
+
+    /** Deepest split to trace, or -1 when splits aren't traced. */
+    static int splitDepth() {
+        Level current = level;
+        if (current == Level.FULL) return Integer.MAX_VALUE;
+        return current == Level.SPLITS ? maxDepth : -1;
+    }
+
+    static void tableBuilt(HanoiAlgorithm algorithm, int disks) {
+        offer(TABLE, algorithm.ordinal(), disks, 0);
+    }
+
+    static void solved(int disks, long moves, long skippedSplits) {
+        offer(SOLVED, disks, moves, skippedSplits);
+    }
+
+    static void split(int disks, int k, int pegs, int depth) {
+        offer(SPLIT, disks, k, (long) depth << 32 | pegs);
+    }
+
+    static void improvement(int disks, int k, long moves) {
+        offer(IMPROVEMENT, disks, k, moves);
+    }
+
+    static void threePeg(int disks, long moves) {
+        offer(THREE_PEG, disks, moves, 0);
+    }
+
+    private static void offer(int kind, long a, long b, long c) {
+        Writer current = writer;
+        if (current != null) {
+            current.ring.offer(kind, a, b, c);
+        }
+    }
+
+    private static String format(int kind, long a, long b, long c) {
+        return switch (kind) {
+            case TABLE -> String.format(Locale.ROOT, "table %s built for up to %d disks",
+                    HanoiAlgorithm.values()[(int) a].name(), b);
+            case SOLVED -> c == 0
+                    ? String.format(Locale.ROOT, "solved %d disks in %d moves", a, b)
+                    : String.format(Locale.ROOT, "solved %d disks in %d moves, %d deeper splits not traced", a, b, c);
+            case SPLIT -> "  ".repeat((int) Math.min(c >>> 32, 40)) + String.format(Locale.ROOT,
+                    "split %d disks on %d pegs: %d aside twice, %d bottom disks with one peg less",
+                    a, (int) c, a - b, b);
+            case IMPROVEMENT -> String.format(Locale.ROOT, "  dp[%d]: k=%d gives %d moves", a, b, c);
+            case THREE_PEG -> String.format(Locale.ROOT, "3-peg solve of %d disks, %d moves", a, b);
+            default -> throw new IllegalStateException("Unknown trace event " + kind);
+        };
+    }
+
+    /**
+     * Bounded multi-producer, single-consumer ring. A producer claims a sequence number with
+     * a CAS on the tail, fills the slot and publishes it by storing the sequence + 1; the
+     * consumer only advances past published slots. A producer that would overtake the
+     * consumer drops its event.
+     */
+    private static final class Ring {
+        private final int mask;
+        private final AtomicLongArray published;
+        private final int[] kinds;
+        private final long[] a;
+        private final long[] b;
+        private final long[] c;
+        private final AtomicLong tail = new AtomicLong();
+        private final LongAdder dropped = new LongAdder();
+        private volatile long head;  // only written by the consumer
+
+        Ring(int capacity) {
+            mask = capacity - 1;
+            published = new AtomicLongArray(capacity);
+            kinds = new int[capacity];
+            a = new long[capacity];
+            b = new long[capacity];
+            c = new long[capacity];
+        }
+
+        void offer(int kind, long x, long y, long z) {
+            long sequence;
+            do {
+                sequence = tail.get();
+                if (sequence - head > mask) {
+                    dropped.increment();
+                    return;
+                }
+            } while (!tail.compareAndSet(sequence, sequence + 1));
+            int slot = (int) sequence & mask;
+            kinds[slot] = kind;
+            a[slot] = x;
+            b[slot] = y;
+            c[slot] = z;
+            published.setRelease(slot, sequence + 1);
+        }
+
+        /** Prints the published events in order; returns how many. */
+        int drain(PrintStream out) {
+            int count = 0;
+            long sequence = head;
+            int slot = (int) sequence & mask;
+            while (published.getAcquire(slot) == sequence + 1) {
+                String line = format(kinds[slot], a[slot], b[slot], c[slot]);
+                head = ++sequence;  // frees the slot before the slow part
+                out.println(line);
+                count++;
+                slot = (int) sequence & mask;
+            }
+            return count;
+        }
+    }
+
+    private static final class Writer extends Thread {
+        private final Ring ring;
+        private final PrintStream out;
+        private volatile boolean running = true;
+
+        Writer(Ring ring, PrintStream out) {
+            super("hanoi-trace");
+            setDaemon(true);
+            this.ring = ring;
+            this.out = out;
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                if (ring.drain(out) == 0) {
+                    out.flush();
+                    LockSupport.parkNanos(1_000_000);
+                }
+            }
+        }
+
+        long finish() {
+            running = false;
+            LockSupport.unpark(this);
+            try {
+                join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // Producers that read the writer before the level changed may still be publishing
+            ring.drain(out);
+            long dropped = ring.dropped.sum();
+            if (dropped > 0) {
+                out.println("trace: " + dropped + " events dropped, the writer fell behind");
+            }
+            out.flush();
+            return dropped;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.algoproject.solver;
+
+/**
+ * Split decisions and move counts of a four-peg algorithm for 0..maxDisks disks.
+ * <p>
+ * {@code split(n) == 0} means "move all n disks with the 3-peg algorithm using the first
+ * auxiliary peg"; any other k moves the top n-k disks aside with four pegs, the bottom k
+ * with three pegs, and the n-k disks back on top. Counts that don't fit in a {@code long}
+ * are kept saturated, and asking for them throws instead of returning a wrapped value.
+ */
+public final class SplitTable {
+    private final int[] kValues;
+    private final long[] counts;
+
+    SplitTable(int[] kValues) {
+        this.kValues = kValues;
+        this.counts = new long[kValues.length];
+        for (int i = 1; i < kValues.length; i++) {
+            int k = kValues[i];
+            if (i == 1) {
+                counts[i] = 1;
+            } else if (k == 0) {
+                counts[i] = i < Long.SIZE ? threePegMoves(i) : Long.MAX_VALUE;
+            } else {
+                counts[i] = FrameStewart.splitCost(counts[i - k], k);
+            }
+        }
+    }
+
+    public int maxDisks() {
+        return kValues.length - 1;
+    }
+
+    public int split(int n) {
+        return kValues[n];
+    }
+
+    public long moveCount(int n) {
+        long count = counts[n];
+        if (count == Long.MAX_VALUE) {
+            throw new ArithmeticException("Move count for " + n + " disks exceeds the long range");
+        }
+        return count;
+    }
+
+    static long threePegMoves(int n) {
+        if (n >= Long.SIZE) {
+            throw new ArithmeticException("Move count for " + n + " disks exceeds the long range");
+        }
+        return (1L << n) - 1;
+    }
+}
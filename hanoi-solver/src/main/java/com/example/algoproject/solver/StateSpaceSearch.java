@@ -0,0 +1,317 @@
+package com.example.algoproject.solver;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.stream.LongStream;
+
+/**
+ * Complete breadth-first search of the 4^n configurations of the four-peg puzzle, used to
+ * check the move counts of the other engines and to measure eccentricities and diameters.
+ * <p>
+ * Two-bit search: every configuration (base-4 index, disk i in digit i) has a 2-bit code,
+ * 0 unseen, 3 done, 1 and 2 alternating as the current and the next layer. A layer is one
+ * parallel sweep that expands every current configuration and marks its unseen neighbours
+ * as next, and one sweep that retires current to done and counts the next layer. Duplicates
+ * are resolved in the array itself, so no frontier list is kept. Both sweeps can be repeated
+ * safely, so when the array is a mapped file ({@link #onDisk}) the OS pages it to disk when
+ * it outgrows memory, and a checkpoint after every layer lets an interrupted search resume.
+ */
+public final class StateSpaceSearch implements AutoCloseable {
+    public static final int PEGS = 4;
+    public static final int MAX_DISKS = 20;
+    public static final int MAX_DIAMETER_DISKS = 8;
+
+    private static final long LOW_BITS = 0x5555_5555_5555_5555L;
+    private static final long CHUNK_WORDS = 1 << 12;
+    private static final int CHECKPOINT_MAGIC = 0x48425347;  // "HBSG", version 2 with the codes size
+
+    private final int numDisks;
+    private final long states;
+    private final long start;
+    private final long goal;
+    private final TwoBitArray codes;
+    private final Path checkpoint;
+
+    private long[] layerSizes = new long[16];
+    private int depth;
+    private int goalDepth = -1;
+    private boolean finished;
+
+    private StateSpaceSearch(int[] start, TwoBitArray codes, Path checkpoint) {
+        this.numDisks = start.length;
+        this.states = 1L << (2 * numDisks);
+        this.start = index(start);
+        this.goal = states - 1;  // every disk on the last peg
+        this.codes = codes;
+        this.checkpoint = checkpoint;
+    }
+
+    /** Search from {@code start}, the peg of every disk, in native memory. */
+    public static StateSpaceSearch inMemory(int[] start) {
+        checkDisks(start.length);
+        StateSpaceSearch search = new StateSpaceSearch(start, TwoBitArray.allocate(1L << (2 * start.length)), null);
+        search.begin();
+        return search;
+    }
+
+    /**
+     * Search from {@code start} with the codes in a file of {@code directory}, picking up
+     * where an earlier search of the same start left off.
+     */
+    public static StateSpaceSearch onDisk(int[] start, Path directory) throws IOException {
+        checkDisks(start.length);
+        Files.createDirectories(directory);
+        String name = "bfs-" + start.length + "-" + Long.toHexString(index(start));
+        Path checkpoint = directory.resolve(name + ".checkpoint");
+        TwoBitArray codes = TwoBitArray.map(directory.resolve(name + ".codes"), 1L << (2 * start.length));
+        StateSpaceSearch search = new StateSpaceSearch(start, codes, checkpoint);
+        if (!search.restore()) {
+            search.clear();
+            search.begin();
+            search.save();
+        }
+        return search;
+    }
+
+    /** Standard start: every disk on peg 0. */
+    public static int[] tower(int numDisks) {
+        return new int[numDisks];
+    }
+
+    /**
+     * Largest eccentricity over all configurations, one search per configuration up to peg
+     * relabeling. Quadratic in 4^n, so limited to {@link #MAX_DIAMETER_DISKS} disks.
+     */
+    public static int diameter(int numDisks) {
+        if (numDisks < 1 || numDisks > MAX_DIAMETER_DISKS) {
+            throw new IllegalArgumentException("Diameter is computed for 1 to " + MAX_DIAMETER_DISKS + " disks: " + numDisks);
+        }
+        int diameter = 0;
+        int[] state = new int[numDisks];
+        for (long index = 0; index < 1L << (2 * numDisks); index++) {
+            for (int disk = 0; disk < numDisks; disk++) {
+                state[disk] = (int) (index >>> (2 * disk)) & 3;
+            }
+            if (!isCanonical(state)) continue;
+            try (StateSpaceSearch search = inMemory(state)) {
+                search.run();
+                diameter = Math.max(diameter, search.eccentricity());
+            }
+        }
+        return diameter;
+    }
+
+    /**
+     * Runs the remaining layers; returns at once when the search is finished. A failed
+     * checkpoint surfaces as {@link UncheckedIOException}, the search resumes from the last one.
+     */
+    public void run() {
+        while (!finished) {
+            int current = code(depth);
+            int next = code(depth + 1);
+            expand(current, next);
+            long size = retire(current, next);
+            if (size == 0) {
+                finished = true;
+            } else {
+                depth++;
+                if (depth == layerSizes.length) {
+                    layerSizes = Arrays.copyOf(layerSizes, depth * 2);
+                }
+                layerSizes[depth] = size;
+                if (goalDepth < 0 && codes.get(goal) == next) {
+                    goalDepth = depth;
+                }
+            }
+            save();
+        }
+    }
+
+    public int numDisks() {
+        return numDisks;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /** Number of configurations at every distance from the start found so far. */
+    public long[] layerSizes() {
+        return Arrays.copyOf(layerSizes, depth + 1);
+    }
+
+    /** Distance from the start to every disk on the last peg, -1 if not reached yet. */
+    public int goalDistance() {
+        return goalDepth;
+    }
+
+    /** Largest distance from the start, valid once the search is finished. */
+    public int eccentricity() {
+        if (!finished) {
+            throw new IllegalStateException("Search is not finished");
+        }
+        return depth;
+    }
+
+    @Override
+    public void close() {
+        codes.close();
+    }
+
+    private void begin() {
+        codes.markIfZero(start, code(0));
+        layerSizes[0] = 1;
+        if (start == goal) {
+            goalDepth = 0;
+        }
+    }
+
+    private void clear() {
+        for (long word = 0; word < codes.words(); word++) {
+            codes.setWord(word, 0);
+        }
+    }
+
+    // Every configuration with the current code marks its unseen neighbours with the next one
+    private void expand(int current, int next) {
+        long chunks = (codes.words() + CHUNK_WORDS - 1) / CHUNK_WORDS;
+        LongStream.range(0, chunks).parallel().forEach(chunk -> {
+            int[] tops = new int[PEGS];
+            long end = Math.min(codes.words(), (chunk + 1) * CHUNK_WORDS);
+            for (long word = chunk * CHUNK_WORDS; word < end; word++) {
+                for (long match = matches(codes.word(word), current); match != 0; match &= match - 1) {
+                    long state = word * TwoBitArray.CODES_PER_WORD + Long.numberOfTrailingZeros(match) / 2;
+                    expandState(state, next, tops);
+                }
+            }
+        });
+    }
+
+    private void expandState(long state, int next, int[] tops) {
+        Arrays.fill(tops, -1);
+        int found = 0;
+        for (int disk = 0; disk < numDisks && found < PEGS; disk++) {
+            int peg = (int) (state >>> (2 * disk)) & 3;
+            if (tops[peg] < 0) {
+                tops[peg] = disk;
+                found++;
+            }
+        }
+        for (int from = 0; from < PEGS; from++) {
+            int disk = tops[from];
+            if (disk < 0) continue;
+            for (int to = 0; to < PEGS; to++) {
+                if (to == from || (tops[to] >= 0 && tops[to] < disk)) continue;
+                codes.markIfZero(state ^ ((long) (from ^ to) << (2 * disk)), next);
+            }
+        }
+    }
+
+    // Current configurations become done; returns the size of the next layer
+    private long retire(int current, int next) {
+        long chunks = (codes.words() + CHUNK_WORDS - 1) / CHUNK_WORDS;
+        return LongStream.range(0, chunks).parallel().map(chunk -> {
+            long count = 0;
+            long end = Math.min(codes.words(), (chunk + 1) * CHUNK_WORDS);
+            for (long word = chunk * CHUNK_WORDS; word < end; word++) {
+                long value = codes.word(word);
+                long match = matches(value, current);
+                if (match != 0) {
+                    codes.setWord(word, value | match | match << 1);
+                }
+                count += Long.bitCount(matches(value, next));
+            }
+            return count;
+        }).sum();
+    }
+
+    // Low bit of every 2-bit slot of word that holds code
+    private static long matches(long word, int code) {
+        long difference = word ^ (LOW_BITS * code);
+        return ~(difference | difference >>> 1) & LOW_BITS;
+    }
+
+    private static int code(int depth) {
+        return 1 + (depth & 1);
+    }
+
+    // A checkpoint only describes codes that survived with it; fresh zero codes mean starting over
+    private boolean restore() throws IOException {
+        if (codes.created() || !Files.exists(checkpoint)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(checkpoint))) {
+            if (in.readInt() != CHECKPOINT_MAGIC || in.readInt() != numDisks || in.readLong() != start
+                    || in.readLong() != codes.words()) {
+                return false;
+            }
+            depth = in.readInt();
+            goalDepth = in.readInt();
+            finished = in.readBoolean();
+            layerSizes = new long[Math.max(16, depth + 1)];
+            for (int d = 0; d <= depth; d++) {
+                layerSizes[d] = in.readLong();
+            }
+            return true;
+        }
+    }
+
+    private void save() {
+        if (checkpoint == null) {
+            return;
+        }
+        // Codes first, so a checkpoint never runs ahead of the codes it describes
+        codes.force();
+        try {
+            Path temporary = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temporary))) {
+                out.writeInt(CHECKPOINT_MAGIC);
+                out.writeInt(numDisks);
+                out.writeLong(start);
+                out.writeLong(codes.words());
+                out.writeInt(depth);
+                out.writeInt(goalDepth);
+                out.writeBoolean(finished);
+                for (int d = 0; d <= depth; d++) {
+                    out.writeLong(layerSizes[d]);
+                }
+            }
+            Files.move(temporary, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long index(int[] pegs) {
+        long index = 0;
+        for (int disk = pegs.length - 1; disk >= 0; disk--) {
+            if (pegs[disk] < 0 || pegs[disk] >= PEGS) {
+                throw new IllegalArgumentException("Disk " + (disk + 1) + " is on peg " + (pegs[disk] + 1) + " of " + PEGS);
+            }
+            index = index << 2 | pegs[disk];
+        }
+        return index;
+    }
+
+    // Pegs first used in the order 0, 1, 2, 3 from the largest disk down
+    private static boolean isCanonical(int[] state) {
+        int next = 0;
+        for (int disk = state.length - 1; disk >= 0; disk--) {
+            if (state[disk] > next) return false;
+            if (state[disk] == next) next++;
+        }
+        return true;
+    }
+
+    private static void checkDisks(int numDisks) {
+        if (numDisks < 1 || numDisks > MAX_DISKS) {
+            throw new IllegalArgumentException("Number of disks must be between 1 and " + MAX_DISKS + ": " + numDisks);
+        }
+    }
+}
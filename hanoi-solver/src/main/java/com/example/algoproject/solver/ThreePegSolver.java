@@ -0,0 +1,84 @@
+package com.example.algoproject.solver;
+
+import java.lang.foreign.MemorySegment;
+
+/**
+ * Non-recursive 3-peg Tower of Hanoi. Move i (1-based) moves disk trailingZeros(i), from
+ * logical peg (i & (i-1)) % 3 to ((i | (i-1)) + 1) % 3, where the logical pegs cycle in the
+ * direction given by the parity of n. No recursion and no allocation per move.
+ */
+public final class ThreePegSolver {
+    public static final int MAX_DISKS = Long.SIZE - 2;
+
+    private ThreePegSolver() {
+    }
+
+    public static long moveCount(int n) {
+        return SplitTable.threePegMoves(n);
+    }
+
+    /** Writes the 2^n - 1 moves into {@code sink}; disk indices start at {@code diskOffset}. */
+    public static void solve(int n, int source, int target, int auxiliary, int diskOffset, MoveSink sink) {
+        SolverEvents.ThreePegSolve event = SolverMetrics.isEnabled() ? SolverMetrics.beginThreePegSolve() : null;
+        int[] pegs = logicalPegs(n, source, target, auxiliary);
+        long total = moveCount(n);
+        for (long i = 1; i <= total; i++) {
+            sink.move(pegs[(int) ((i & (i - 1)) % 3)],
+                    pegs[(int) (((i | (i - 1)) + 1) % 3)],
+                    diskOffset + Long.numberOfTrailingZeros(i));
+        }
+        solved(event, n, total);
+    }
+
+    /**
+     * Writes the moves packed into {@code moves} from move {@code index} on, returns the index
+     * after the last one. The leaf loop of {@link ParallelMoveGenerator}, so it stores into the
+     * segment directly rather than through a {@link MoveSink}.
+     */
+    static long write(MemorySegment moves, long index, int n, int source, int target, int auxiliary, int diskOffset) {
+        SolverEvents.ThreePegSolve event = SolverMetrics.isEnabled() ? SolverMetrics.beginThreePegSolve() : null;
+        int[] pegs = logicalPegs(n, source, target, auxiliary);
+        long total = moveCount(n);
+        // One bounds check for the run instead of one per move
+        MemorySegment run = moves.asSlice(index * Integer.BYTES, total * Integer.BYTES);
+        for (long i = 1; i <= total; i++) {
+            run.setAtIndex(NativeMoveBuffer.MOVE, i - 1, MoveBuffer.pack(pegs[(int) ((i & (i - 1)) % 3)],
+                    pegs[(int) (((i | (i - 1)) + 1) % 3)],
+                    diskOffset + Long.numberOfTrailingZeros(i)));
+        }
+        solved(event, n, total);
+        return index + total;
+    }
+
+    /** Move {@code index} (0-based) packed, without generating the ones before it. */
+    static int packedMoveAt(int n, int source, int target, int auxiliary, int diskOffset, long index) {
+        long i = index + 1;
+        return MoveBuffer.pack(logicalPeg(n, (int) ((i & (i - 1)) % 3), source, target, auxiliary),
+                logicalPeg(n, (int) (((i | (i - 1)) + 1) % 3), source, target, auxiliary),
+                diskOffset + Long.numberOfTrailingZeros(i));
+    }
+
+    private static int logicalPeg(int n, int logical, int source, int target, int auxiliary) {
+        if (logical == 0) return source;
+        return (logical == 1) == (n % 2 == 1) ? auxiliary : target;
+    }
+
+    // Logical peg 0 is the source; the tower ends on logical peg 2 for odd n and on 1 for even n
+    private static int[] logicalPegs(int n, int source, int target, int auxiliary) {
+        if (n < 0 || n > MAX_DISKS) {
+            throw new IllegalArgumentException("Number of disks must be between 0 and " + MAX_DISKS + ": " + n);
+        }
+        return n % 2 == 1
+                ? new int[]{source, auxiliary, target}
+                : new int[]{source, target, auxiliary};
+    }
+
+    private static void solved(SolverEvents.ThreePegSolve event, int n, long total) {
+        if (event != null) {
+            SolverMetrics.threePegSolved(event, n, total);
+        }
+        if (SolverTrace.isEnabled(SolverTrace.Level.FULL)) {
+            SolverTrace.threePeg(n, total);
+        }
+    }
+}
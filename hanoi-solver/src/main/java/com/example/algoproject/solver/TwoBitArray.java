@@ -0,0 +1,117 @@
+package com.example.algoproject.solver;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Off-heap array of 2-bit codes, 32 per 64-bit word, either in native memory or in a
+ * memory-mapped file. Words are updated with compare-and-set so many threads can mark codes
+ * at once. The memory is released deterministically by {@link #close()}.
+ */
+final class TwoBitArray implements AutoCloseable {
+    static final int CODES_PER_WORD = 32;
+
+    private static final VarHandle WORD = ValueLayout.JAVA_LONG.varHandle();
+
+    private final Arena arena;
+    private final MemorySegment segment;
+    private final boolean mapped;
+    private final boolean created;
+    private final long words;
+
+    private TwoBitArray(Arena arena, MemorySegment segment, boolean mapped, boolean created, long words) {
+        this.arena = arena;
+        this.segment = segment;
+        this.mapped = mapped;
+        this.created = created;
+        this.words = words;
+    }
+
+    /** Zeroed native array for {@code size} codes. */
+    static TwoBitArray allocate(long size) {
+        long words = wordsFor(size);
+        Arena arena = Arena.ofShared();
+        return new TwoBitArray(arena, arena.allocate(words * Long.BYTES, Long.BYTES), false, true, words);
+    }
+
+    /** Array for {@code size} codes in {@code file}, zero when the file is created, as left otherwise. */
+    static TwoBitArray map(Path file, long size) throws IOException {
+        long words = wordsFor(size);
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            boolean created = channel.size() != words * Long.BYTES;
+            if (created) {
+                channel.truncate(0);
+                channel.write(ByteBuffer.allocate(1), words * Long.BYTES - 1);  // sparse, reads as zero
+            }
+            return new TwoBitArray(arena, channel.map(FileChannel.MapMode.READ_WRITE, 0, words * Long.BYTES, arena), true, created, words);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    /** True when the codes start out zero: allocated, or a file that was missing or of another size. */
+    boolean created() {
+        return created;
+    }
+
+    long words() {
+        return words;
+    }
+
+    long word(long index) {
+        return (long) WORD.getVolatile(segment, index * Long.BYTES);
+    }
+
+    void setWord(long index, long value) {
+        WORD.setVolatile(segment, index * Long.BYTES, value);
+    }
+
+    boolean compareAndSet(long index, long expected, long value) {
+        return WORD.compareAndSet(segment, index * Long.BYTES, expected, value);
+    }
+
+    int get(long code) {
+        return (int) (word(code / CODES_PER_WORD) >>> (2 * (code % CODES_PER_WORD))) & 3;
+    }
+
+    /** Sets the code at {@code code} to {@code value} if it is still 0; false when it was not. */
+    boolean markIfZero(long code, int value) {
+        long index = code / CODES_PER_WORD;
+        int shift = (int) (2 * (code % CODES_PER_WORD));
+        while (true) {
+            long word = word(index);
+            if (((word >>> shift) & 3) != 0) {
+                return false;
+            }
+            if (compareAndSet(index, word, word | (long) value << shift)) {
+                return true;
+            }
+        }
+    }
+
+    /** Writes a mapped array through to its file. */
+    void force() {
+        if (mapped) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    private static long wordsFor(long size) {
+        return Math.max(1, (size + CODES_PER_WORD - 1) / CODES_PER_WORD);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.algoproject.solver.io;
+
+/**
+ * On-disk formats of a move sequence. Pegs and disks are 1-based in the text formats.
+ */
+public enum MoveFormat {
+    /** "Move 1: Disk 1 from Peg 1 to Peg 4", the console's format. */
+    TEXT,
+    /** "1 4", from-peg and to-peg only. */
+    COMPACT,
+    /** One byte per move, from-peg in the high and to-peg in the low nibble (at most 16 pegs). */
+    BINARY
+}
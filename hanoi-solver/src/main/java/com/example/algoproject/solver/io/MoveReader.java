@@ -0,0 +1,144 @@
+package com.example.algoproject.solver.io;
+
+import com.example.algoproject.solver.MoveBuffer;
+import com.example.algoproject.solver.MoveSink;
+import com.example.algoproject.solver.MultiPegFrameStewart;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Reads what {@link MoveWriter} wrote, parsing straight from a 1 MB byte buffer.
+ * <p>
+ * The compact and binary formats don't store disks, so their disk indices are recovered by
+ * replaying the moves from n disks on peg 0; the text format carries them itself.
+ */
+public final class MoveReader implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final ReadableByteChannel channel;
+    private final MoveFormat format;
+    private final int numDisks;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+    // Line parser state, lines may span buffer refills
+    private final long[] fields = new long[4];
+    private int fieldCount;
+    private long current;
+    private boolean inNumber;
+
+    // Disks on every peg, bottom first, for the formats without disk indices
+    private int[][] stacks = new int[0][];
+    private int[] heights = new int[0];
+    private long moveNum;
+
+    public MoveReader(ReadableByteChannel channel, MoveFormat format, int numDisks) {
+        this.channel = channel;
+        this.format = format;
+        this.numDisks = numDisks;
+        if (format != MoveFormat.TEXT) {
+            ensurePeg(0);
+            for (int disk = numDisks - 1; disk >= 0; disk--) {
+                stacks[0][heights[0]++] = disk;
+            }
+        }
+    }
+
+    public static MoveReader open(Path path, MoveFormat format, int numDisks) throws IOException {
+        return new MoveReader(FileChannel.open(path), format, numDisks);
+    }
+
+    /** Reads every remaining move into {@code sink}, returns the number of moves read. */
+    public long readAll(MoveSink sink) throws IOException {
+        long start = moveNum;
+        while (channel.read(buffer.clear()) >= 0) {
+            buffer.flip();
+            byte[] bytes = buffer.array();
+            int limit = buffer.limit();
+            if (format == MoveFormat.BINARY) {
+                for (int i = 0; i < limit; i++) {
+                    int move = bytes[i] & 0xFF;
+                    emit(move >>> 4, move & 0x0F, -1, sink);
+                }
+            } else {
+                for (int i = 0; i < limit; i++) {
+                    parse(bytes[i], sink);
+                }
+            }
+        }
+        if (format != MoveFormat.BINARY) {
+            parse((byte) '\n', sink);  // last line without a line break
+        }
+        return moveNum - start;
+    }
+
+    public MoveBuffer readAll() throws IOException {
+        MoveBuffer moves = new MoveBuffer();
+        readAll(moves);
+        return moves;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void parse(byte b, MoveSink sink) throws IOException {
+        if (b >= '0' && b <= '9') {
+            current = current * 10 + (b - '0');
+            inNumber = true;
+            return;
+        }
+        if (inNumber) {
+            if (fieldCount < fields.length) {
+                fields[fieldCount] = current;
+            }
+            fieldCount++;
+            current = 0;
+            inNumber = false;
+        }
+        if (b != '\n') return;
+
+        if (fieldCount > 0) {
+            if (format == MoveFormat.TEXT && fieldCount == 4) {
+                emit((int) fields[2] - 1, (int) fields[3] - 1, (int) fields[1] - 1, sink);
+            } else if (format == MoveFormat.COMPACT && fieldCount == 2) {
+                emit((int) fields[0] - 1, (int) fields[1] - 1, -1, sink);
+            } else {
+                throw new IOException("Malformed move " + (moveNum + 1) + " in " + format + " input");
+            }
+        }
+        fieldCount = 0;
+    }
+
+    private void emit(int fromPeg, int toPeg, int diskIndex, MoveSink sink) throws IOException {
+        moveNum++;
+        if (fromPeg < 0 || toPeg < 0 || fromPeg >= MultiPegFrameStewart.MAX_PEGS || toPeg >= MultiPegFrameStewart.MAX_PEGS) {
+            throw new IOException("Move " + moveNum + " names a peg outside 1 to " + MultiPegFrameStewart.MAX_PEGS);
+        }
+        if (diskIndex < 0) {
+            ensurePeg(Math.max(fromPeg, toPeg));
+            if (heights[fromPeg] == 0) {
+                throw new IOException("Move " + moveNum + " takes a disk from empty peg " + (fromPeg + 1));
+            }
+            diskIndex = stacks[fromPeg][--heights[fromPeg]];
+            stacks[toPeg][heights[toPeg]++] = diskIndex;
+        }
+        sink.move(fromPeg, toPeg, diskIndex);
+    }
+
+    private void ensurePeg(int peg) {
+        if (peg < stacks.length) return;
+        int oldLength = stacks.length;
+        stacks = Arrays.copyOf(stacks, peg + 1);
+        heights = Arrays.copyOf(heights, peg + 1);
+        for (int i = oldLength; i <= peg; i++) {
+            stacks[i] = new int[numDisks];
+        }
+    }
+}
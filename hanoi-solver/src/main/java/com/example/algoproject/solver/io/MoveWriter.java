@@ -0,0 +1,153 @@
+package com.example.algoproject.solver.io;
+
+import com.example.algoproject.solver.MoveBuffer;
+import com.example.algoproject.solver.MoveSink;
+
+import java.io.Closeable;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Buffered move output. Moves are formatted byte by byte into a 1 MB buffer that is handed
+ * to the channel in one write when full, so no String is built per move.
+ */
+public final class MoveWriter implements MoveSink, Closeable {
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int MAX_MOVE_BYTES = 80;
+
+    private static final byte[] MOVE = "Move ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] DISK = ": Disk ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FROM_PEG = " from Peg ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TO_PEG = " to Peg ".getBytes(StandardCharsets.US_ASCII);
+
+    private final WritableByteChannel channel;
+    private final boolean closeChannel;
+    private final MoveFormat format;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final ByteBuffer wrapped = ByteBuffer.wrap(buffer);
+    private int position;
+    private long moveNum;
+
+    public MoveWriter(WritableByteChannel channel, MoveFormat format) {
+        this(channel, format, true);
+    }
+
+    private MoveWriter(WritableByteChannel channel, MoveFormat format, boolean closeChannel) {
+        this.channel = channel;
+        this.format = format;
+        this.closeChannel = closeChannel;
+    }
+
+    public static MoveWriter create(Path path, MoveFormat format) throws IOException {
+        return new MoveWriter(FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE), format);
+    }
+
+    /**
+     * Writer on the process' standard output, bypassing {@link System#out}. Anything already
+     * printed to System.out is flushed first; closing the writer leaves standard output open.
+     */
+    public static MoveWriter toStandardOutput(MoveFormat format) {
+        System.out.flush();
+        return new MoveWriter(new FileOutputStream(FileDescriptor.out).getChannel(), format, false);
+    }
+
+    @Override
+    public void move(int fromPeg, int toPeg, int diskIndex) {
+        if (BUFFER_SIZE - position < MAX_MOVE_BYTES) {
+            flushBuffer();
+        }
+        moveNum++;
+        switch (format) {
+            case TEXT -> {
+                put(MOVE);
+                putNumber(moveNum);
+                put(DISK);
+                putNumber(diskIndex + 1);
+                put(FROM_PEG);
+                putNumber(fromPeg + 1);
+                put(TO_PEG);
+                putNumber(toPeg + 1);
+                buffer[position++] = '\n';
+            }
+            case COMPACT -> {
+                putNumber(fromPeg + 1);
+                buffer[position++] = ' ';
+                putNumber(toPeg + 1);
+                buffer[position++] = '\n';
+            }
+            case BINARY -> {
+                if (fromPeg > 15 || toPeg > 15) {
+                    throw new IllegalArgumentException("Binary format holds at most 16 pegs");
+                }
+                buffer[position++] = (byte) (fromPeg << 4 | toPeg);
+            }
+        }
+    }
+
+    public void write(MoveBuffer moves) {
+        moves.forEachMove(this);
+    }
+
+    /** Continues the TEXT move numbering after {@code movesBefore} moves, for partial replays. */
+    public void numberFrom(long movesBefore) {
+        moveNum = movesBefore;
+    }
+
+    /** Number of moves written so far, plus any given to {@link #numberFrom}. */
+    public long moveCount() {
+        return moveNum;
+    }
+
+    public void flush() throws IOException {
+        wrapped.clear().limit(position);
+        while (wrapped.hasRemaining()) {
+            channel.write(wrapped);
+        }
+        position = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            if (closeChannel) {
+                channel.close();
+            }
+        }
+    }
+
+    private void flushBuffer() {
+        try {
+            flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void put(byte[] bytes) {
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void putNumber(long value) {
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        for (int i = position + digits - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position += digits;
+    }
+}
@@ -0,0 +1,331 @@
+package com.example.algoproject.solver.io;
+
+import com.example.algoproject.solver.HanoiAlgorithm;
+import com.example.algoproject.solver.Move;
+import com.example.algoproject.solver.MoveBuffer;
+import com.example.algoproject.solver.MoveLocator;
+import com.example.algoproject.solver.MoveSink;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Self-describing solution file, read back through a memory mapping so that replaying or
+ * seeking into a multi-gigabyte solution costs no heap.
+ * <pre>
+ *  0  "HANOISOL"
+ *  8  int   version
+ * 12  int   number of disks
+ * 16  int   number of pegs
+ * 20  int   bytes per move: 2 (from/to nibbles, disk byte) or 4 ({@link MoveBuffer#pack} layout)
+ * 24  long  number of moves
+ * 32  short length of the algorithm name, followed by the name in UTF-8
+ * 64  long  start configuration, the peg of disk d in bits 2d and 2d+1; 0 is every disk on peg 0
+ * 72  reserved
+ * 128 moves
+ * </pre>
+ * All values are little-endian. Version 1 files have no start configuration and their moves
+ * begin at 64.
+ */
+public final class SolutionFile implements Closeable {
+    public static final int HEADER_SIZE = 128;
+    /** Most disks a start other than the usual tower can be recorded for. */
+    public static final int MAX_START_DISKS = Long.SIZE / 2;
+
+    private static final byte[] MAGIC = "HANOISOL".getBytes(StandardCharsets.US_ASCII);
+    private static final int VERSION = 2;
+    private static final int VERSION_1_HEADER_SIZE = 64;
+    private static final int MAX_NAME_BYTES = VERSION_1_HEADER_SIZE - 34;
+    private static final String A_STAR = "A_STAR";  // as BatchRunner names configuration solutions
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfShort SHORT = ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private final Arena arena;
+    private final MemorySegment segment;
+    private final String algorithm;
+    private final int numDisks;
+    private final int pegs;
+    private final int moveBytes;
+    private final long moveCount;
+    private final int headerSize;
+    private final int[] start;  // null when a version 1 file may not start from the usual tower
+
+    private SolutionFile(Arena arena, MemorySegment segment) throws IOException {
+        this.arena = arena;
+        this.segment = segment;
+
+        if (segment.byteSize() < VERSION_1_HEADER_SIZE
+                || !Arrays.equals(segment.asSlice(0, MAGIC.length).toArray(ValueLayout.JAVA_BYTE), MAGIC)) {
+            throw new IOException("Not a solution file");
+        }
+        int version = segment.get(INT, 8);
+        if (version != 1 && version != VERSION) {
+            throw new IOException("Unsupported solution file version " + version);
+        }
+        headerSize = version == 1 ? VERSION_1_HEADER_SIZE : HEADER_SIZE;
+        if (segment.byteSize() < headerSize) {
+            throw new IOException("Truncated or corrupt solution file");
+        }
+        numDisks = segment.get(INT, 12);
+        pegs = segment.get(INT, 16);
+        moveBytes = segment.get(INT, 20);
+        moveCount = segment.get(LONG, 24);
+        int nameLength = segment.get(SHORT, 32);
+        if (nameLength < 0 || nameLength > MAX_NAME_BYTES) {
+            throw new IOException("Corrupt solution file, algorithm name of " + nameLength + " bytes");
+        }
+        algorithm = new String(segment.asSlice(34, nameLength).toArray(ValueLayout.JAVA_BYTE), StandardCharsets.UTF_8);
+
+        // Divided rather than multiplied, a corrupt move count must not overflow the check
+        if ((moveBytes != 2 && moveBytes != 4) || moveCount < 0
+                || moveCount > (segment.byteSize() - headerSize) / moveBytes) {
+            throw new IOException("Truncated or corrupt solution file");
+        }
+
+        if (version == 1) {
+            // Only optimal solutions from a configuration could start elsewhere, and version 1 didn't record where
+            start = algorithm.equals(A_STAR) ? null : new int[Math.max(numDisks, 0)];
+        } else {
+            long packedStart = segment.get(LONG, 64);
+            if (numDisks < 0 || (packedStart != 0 && numDisks > MAX_START_DISKS)) {
+                throw new IOException("Corrupt solution file, start configuration of " + numDisks + " disks");
+            }
+            start = new int[numDisks];
+            for (int disk = 0; disk < numDisks && disk < MAX_START_DISKS; disk++) {
+                start[disk] = (int) (packedStart >>> (2 * disk)) & 3;
+            }
+        }
+    }
+
+    /** Maps the file read-only; the mapping is released by {@link #close()}. */
+    public static SolutionFile open(Path path) throws IOException {
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new SolutionFile(arena, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena));
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    /** Streams moves into a new solution file; the move count is filled in on close. */
+    public static Writer create(Path path, String algorithm, int numDisks, int pegs) throws IOException {
+        return new Writer(path, algorithm, new int[numDisks], pegs);
+    }
+
+    /**
+     * Like {@link #create(Path, String, int, int)} for moves from {@code start}, the peg of
+     * every disk; other than the usual tower only for pegs 0-3 and at most
+     * {@link #MAX_START_DISKS} disks.
+     */
+    public static Writer create(Path path, String algorithm, int[] start, int pegs) throws IOException {
+        return new Writer(path, algorithm, start.clone(), pegs);
+    }
+
+    public String algorithm() {
+        return algorithm;
+    }
+
+    public int numDisks() {
+        return numDisks;
+    }
+
+    public int pegs() {
+        return pegs;
+    }
+
+    public long moveCount() {
+        return moveCount;
+    }
+
+    /** Peg of every disk before the first move, or null when a version 1 file didn't record it. */
+    public int[] start() {
+        return start == null ? null : start.clone();
+    }
+
+    public int fromPeg(long index) {
+        return moveBytes == 2 ? (moveByte(index) >>> 4) : MoveBuffer.fromPegOf(packed(index));
+    }
+
+    public int toPeg(long index) {
+        return moveBytes == 2 ? (moveByte(index) & 0x0F) : MoveBuffer.toPegOf(packed(index));
+    }
+
+    public int diskIndex(long index) {
+        return moveBytes == 2
+                ? segment.get(ValueLayout.JAVA_BYTE, offset(index) + 1) & 0xFF
+                : MoveBuffer.diskIndexOf(packed(index));
+    }
+
+    public Move move(long index) {
+        return new Move(fromPeg(index), toPeg(index), diskIndex(index));
+    }
+
+    /** Replays moves [from, to) into {@code sink}. */
+    public void replay(long from, long to, MoveSink sink) {
+        if (from < 0 || to > moveCount || from > to) {
+            throw new IndexOutOfBoundsException("Moves " + from + ".." + to + " out of " + moveCount);
+        }
+        for (long i = from; i < to; i++) {
+            sink.move(fromPeg(i), toPeg(i), diskIndex(i));
+        }
+    }
+
+    /**
+     * Peg of every disk after the first {@code index} moves. Solutions of the front ends'
+     * algorithms are located directly, anything else is replayed from the start.
+     *
+     * @throws IllegalStateException for a version 1 file that didn't record its start
+     */
+    public int[] stateAt(long index) {
+        if (index < 0 || index > moveCount) {
+            throw new IndexOutOfBoundsException("Move " + index + " out of " + moveCount);
+        }
+        if (start == null) {
+            throw new IllegalStateException("Solution file doesn't record its start configuration");
+        }
+        HanoiAlgorithm known = knownAlgorithm();
+        if (known != null && pegs == 4 && isTower(start)) {
+            return MoveLocator.stateAt(numDisks, known, index);
+        }
+        int[] state = start.clone();
+        for (long i = 0; i < index; i++) {
+            state[diskIndex(i)] = toPeg(i);
+        }
+        return state;
+    }
+
+    @Override
+    public void close() {
+        arena.close();
+    }
+
+    private static boolean isTower(int[] state) {
+        for (int peg : state) {
+            if (peg != 0) return false;
+        }
+        return true;
+    }
+
+    private HanoiAlgorithm knownAlgorithm() {
+        for (HanoiAlgorithm value : HanoiAlgorithm.values()) {
+            if (value.name().equals(algorithm)) return value;
+        }
+        return null;
+    }
+
+    private int moveByte(long index) {
+        return segment.get(ValueLayout.JAVA_BYTE, offset(index)) & 0xFF;
+    }
+
+    private int packed(long index) {
+        return segment.get(INT, offset(index));
+    }
+
+    private long offset(long index) {
+        if (index < 0 || index >= moveCount) {
+            throw new IndexOutOfBoundsException("Move " + index + " out of " + moveCount);
+        }
+        return headerSize + index * moveBytes;
+    }
+
+    /** Sequential writer behind {@link #create}. */
+    public static final class Writer implements MoveSink, Closeable {
+        private static final int BUFFER_SIZE = 1 << 20;
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private final int moveBytes;
+        private long moveCount;
+
+        private Writer(Path path, String algorithm, int[] start, int pegs) throws IOException {
+            byte[] name = algorithm.getBytes(StandardCharsets.UTF_8);
+            if (name.length > MAX_NAME_BYTES) {
+                throw new IllegalArgumentException("Algorithm name longer than " + MAX_NAME_BYTES + " bytes: " + algorithm);
+            }
+            int numDisks = start.length;
+            moveBytes = pegs <= 16 && numDisks <= 256 ? 2 : 4;
+            header.put(MAGIC).putInt(VERSION).putInt(numDisks).putInt(pegs).putInt(moveBytes)
+                    .putLong(0).putShort((short) name.length).put(name);
+            header.putLong(64, packStart(start));
+
+            channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            channel.position(HEADER_SIZE);
+        }
+
+        @Override
+        public void move(int fromPeg, int toPeg, int diskIndex) {
+            if (buffer.remaining() < moveBytes) {
+                flushBuffer();
+            }
+            if (moveBytes == 2) {
+                buffer.put((byte) (fromPeg << 4 | toPeg)).put((byte) diskIndex);
+            } else {
+                buffer.putInt(MoveBuffer.pack(fromPeg, toPeg, diskIndex));
+            }
+            moveCount++;
+        }
+
+        public long moveCount() {
+            return moveCount;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try (channel) {
+                writeBuffer();
+                header.putLong(24, moveCount).clear();
+                channel.write(header, 0);
+            }
+        }
+
+        private static long packStart(int[] start) {
+            if (isTower(start)) {
+                return 0;
+            }
+            if (start.length > MAX_START_DISKS) {
+                throw new IllegalArgumentException("A start other than the usual tower is recorded for at most "
+                        + MAX_START_DISKS + " disks: " + start.length);
+            }
+            long packed = 0;
+            for (int disk = 0; disk < start.length; disk++) {
+                if (start[disk] < 0 || start[disk] > 3) {
+                    throw new IllegalArgumentException("A start other than the usual tower only uses pegs 0-3: disk "
+                            + disk + " is on peg " + start[disk]);
+                }
+                packed |= (long) start[disk] << (2 * disk);
+            }
+            return packed;
+        }
+
+        private void flushBuffer() {
+            try {
+                writeBuffer();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void writeBuffer() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
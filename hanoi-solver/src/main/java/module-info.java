@@ -0,0 +1,8 @@
+module com.example.algoproject.solver {
+    requires jdk.httpserver;
+    requires jdk.jfr;
+    requires jdk.management;
+
+    exports com.example.algoproject.solver;
+    exports com.example.algoproject.solver.io;
+}
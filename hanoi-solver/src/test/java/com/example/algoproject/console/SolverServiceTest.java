@@ -0,0 +1,139 @@
+package com.example.algoproject.console;
+
+import com.example.algoproject.solver.HanoiAlgorithm;
+import com.example.algoproject.solver.HanoiSolver;
+import com.example.algoproject.solver.MoveBuffer;
+import com.example.algoproject.solver.io.MoveFormat;
+import com.example.algoproject.solver.io.MoveReader;
+import com.example.algoproject.solver.io.MoveWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URL;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SolverServiceTest {
+
+    @Test
+    void solveStreamsEveryMoveOrARange() throws IOException {
+        MoveBuffer expected = HanoiSolver.solve(HanoiAlgorithm.FRAME_STEWART, 8, 4);
+        SolverService service = SolverService.start(0, 2);
+        try {
+            HttpURLConnection all = get(service, "/solve?disks=8&format=compact");
+            assertEquals(200, all.getResponseCode());
+            assertEquals(Integer.toString(expected.size()), all.getHeaderField("X-Move-Count"));
+            try (MoveReader reader = new MoveReader(Channels.newChannel(all.getInputStream()), MoveFormat.COMPACT, 8)) {
+                assertArrayEquals(expected.toArray(), reader.readAll().toArray());
+            }
+
+            HttpURLConnection range = get(service, "/solve?disks=8&from=5&count=2");
+            assertEquals(200, range.getResponseCode());
+            assertEquals("Move 6: Disk " + (expected.diskIndex(5) + 1) + " from Peg " + (expected.fromPeg(5) + 1)
+                    + " to Peg " + (expected.toPeg(5) + 1), body(range).lines().findFirst().orElse(""));
+        } finally {
+            service.stop();
+        }
+    }
+
+    @Test
+    void verifyTellsSolvedFromUnsolvedAndMalformed() throws IOException {
+        MoveBuffer moves = HanoiSolver.solve(HanoiAlgorithm.FRAME_STEWART, 5, 4);
+        SolverService service = SolverService.start(0, 2);
+        try {
+            assertEquals(200, post(service, "/verify?disks=5&format=binary", binary(moves, moves.size())).getResponseCode());
+            assertEquals(422, post(service, "/verify?disks=5&format=binary", binary(moves, 3)).getResponseCode());
+            byte[] garbage = "1 2 3\n".getBytes(StandardCharsets.US_ASCII);
+            assertEquals(400, post(service, "/verify?disks=5&format=compact", garbage).getResponseCode());
+        } finally {
+            service.stop();
+        }
+    }
+
+    @Test
+    void heavyRequestsAreTurnedAwayWithoutAPermit() throws IOException {
+        SolverService service = SolverService.start(0, 0);
+        try {
+            HttpURLConnection solve = get(service, "/solve?disks=5");
+            assertEquals(503, solve.getResponseCode());
+            assertEquals("1", solve.getHeaderField("Retry-After"));
+            assertEquals(503, get(service, "/count?disks=10&pegs=5").getResponseCode());
+
+            // 4-peg counts need no table build and are always served
+            HttpURLConnection count = get(service, "/count?disks=10");
+            assertEquals(200, count.getResponseCode());
+            assertEquals(HanoiSolver.exactMoveCount(HanoiAlgorithm.FRAME_STEWART, 10, 4) + "\n", body(count));
+        } finally {
+            service.stop();
+        }
+    }
+
+    @Test
+    void rejectedRequestsGiveTheirPermitBack() throws IOException {
+        // One permit: a request that kept it would leave the last solve to time out with 503
+        SolverService service = SolverService.start(0, 1);
+        try {
+            assertEquals(400, get(service, "/solve?disks=0").getResponseCode());
+            assertEquals(400, get(service, "/solve?disks=5&algorithm=bogo").getResponseCode());
+            assertEquals(400, get(service, "/solve?disks=5&pegs=20&format=binary").getResponseCode());
+            assertEquals(400, post(service, "/verify?disks=3&format=compact", new byte[]{'9', '\n'}).getResponseCode());
+            assertEquals(200, get(service, "/solve?disks=5").getResponseCode());
+        } finally {
+            service.stop();
+        }
+    }
+
+    @Test
+    void wrongMethodIsRefused() throws IOException {
+        SolverService service = SolverService.start(0, 1);
+        try {
+            HttpURLConnection connection = get(service, "/verify?disks=3");
+            assertEquals(405, connection.getResponseCode());
+            assertEquals("POST", connection.getHeaderField("Allow"));
+        } finally {
+            service.stop();
+        }
+    }
+
+    private static HttpURLConnection get(SolverService service, String path) throws IOException {
+        return (HttpURLConnection) url(service, path).openConnection();
+    }
+
+    private static HttpURLConnection post(SolverService service, String path, byte[] body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url(service, path).openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(body);
+        }
+        return connection;
+    }
+
+    private static URL url(SolverService service, String path) throws IOException {
+        return URI.create("http://" + service.address().getHostString() + ":" + service.address().getPort() + path).toURL();
+    }
+
+    private static String body(HttpURLConnection connection) throws IOException {
+        try (InputStream in = connection.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.US_ASCII);
+        }
+    }
+
+    private static byte[] binary(MoveBuffer moves, int count) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (MoveWriter writer = new MoveWriter(Channels.newChannel(bytes), MoveFormat.BINARY)) {
+            for (int i = 0; i < count; i++) {
+                writer.move(moves.fromPeg(i), moves.toPeg(i), moves.diskIndex(i));
+            }
+        }
+        return bytes.toByteArray();
+    }
+}
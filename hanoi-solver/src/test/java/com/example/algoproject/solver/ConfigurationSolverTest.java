@@ -0,0 +1,82 @@
+package com.example.algoproject.solver;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConfigurationSolverTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void solutionsAreAsShortAsTheBreadthFirstDistance() {
+        Random random = new Random(42);
+        int[] goal = ReferenceSolver.tower(7, StateSpaceSearch.PEGS - 1);
+        for (int trial = 0; trial < 20; trial++) {
+            int[] start = new int[goal.length];
+            for (int disk = 0; disk < start.length; disk++) {
+                start[disk] = random.nextInt(StateSpaceSearch.PEGS);
+            }
+
+            int distance;
+            try (StateSpaceSearch search = StateSpaceSearch.inMemory(start)) {
+                search.run();
+                distance = search.goalDistance();
+            }
+            // Groups of 3 disks, so shifted partitions and several databases take part
+            MoveBuffer moves = ConfigurationSolver.solve(start, goal, 3, null);
+
+            assertEquals(distance, moves.size(), "from " + Arrays.toString(start));
+            MoveVerifier verifier = new MoveVerifier(StateSpaceSearch.PEGS, start, goal);
+            moves.forEachMove(verifier);
+            assertTrue(verifier.isSolved(), verifier.report());
+        }
+    }
+
+    @Test
+    void heuristicNeverOverestimates() {
+        int[] start = {0, 1, 2, 3, 0, 1};
+        ConfigurationSolver solver = new ConfigurationSolver(ReferenceSolver.tower(start.length, 3), 2, null);
+        try (StateSpaceSearch search = StateSpaceSearch.inMemory(start)) {
+            search.run();
+            assertTrue(solver.heuristic(start) <= search.goalDistance());
+        }
+    }
+
+    @Test
+    void startOnTheGoalNeedsNoMoves() {
+        int[] state = {3, 1, 2, 0, 3};
+        assertEquals(0, ConfigurationSolver.solve(state, state.clone()).size());
+    }
+
+    @Test
+    void databasesAreWrittenToEveryDirectoryGiven() throws IOException {
+        int[] goal = ReferenceSolver.tower(5, 2);
+        Path first = directory.resolve("first");
+        Path second = directory.resolve("second");
+        new ConfigurationSolver(goal, 3, first);
+        new ConfigurationSolver(goal, 3, second);
+
+        // Splits 2+3, 1+3+1 and 3+2 of the tower use the tables of 1, 2 and 3 disks
+        List<Path> written = files(first);
+        assertEquals(3, written.size(), written.toString());
+        assertEquals(written, files(second));
+    }
+
+    private static List<Path> files(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(Path::getFileName).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.algoproject.solver;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FrameStewartTest {
+    private static final int BEYOND_LONG = 2000;
+
+    @Test
+    void exactCountsMatchTheRecurrenceBeyondLong() {
+        // FS(n) = min over k of 2 FS(n-k) + 2^k - 1, in BigInteger so no count saturates
+        BigInteger[] recurrence = new BigInteger[BEYOND_LONG + 1];
+        recurrence[0] = BigInteger.ZERO;
+        for (int n = 1; n <= BEYOND_LONG; n++) {
+            BigInteger best = null;
+            for (int k = 1; k <= n; k++) {
+                BigInteger moves = recurrence[n - k].shiftLeft(1).add(BigInteger.ONE.shiftLeft(k)).subtract(BigInteger.ONE);
+                if (best == null || moves.compareTo(best) < 0) {
+                    best = moves;
+                }
+            }
+            recurrence[n] = best;
+        }
+
+        boolean overflowed = false;
+        for (int n = 0; n <= BEYOND_LONG; n++) {
+            assertEquals(recurrence[n], FrameStewart.exactMoveCount(n), n + " disks");
+            if (n > 0) {
+                int k = FrameStewart.optimalK(n);
+                assertEquals(recurrence[n], recurrence[n - k].shiftLeft(1).add(BigInteger.ONE.shiftLeft(k)).subtract(BigInteger.ONE),
+                        "split of " + n + " disks");
+            }
+            if (recurrence[n].bitLength() >= Long.SIZE) {
+                int disks = n;
+                assertThrows(ArithmeticException.class, () -> FrameStewart.moveCount(disks));
+                overflowed = true;
+            }
+        }
+        assertTrue(overflowed, "range should reach past long");
+    }
+
+    @Test
+    void tableCountsMatchExactCountsAndDynamicProgramming() {
+        int n = BEYOND_LONG;
+        SplitTable table = FrameStewart.table(n);
+        SplitTable dp = HanoiAlgorithm.DYNAMIC_PROGRAMMING.table(n);
+        int saturated = 0;
+        for (int i = 0; i <= n; i++) {
+            BigInteger exact = FrameStewart.exactMoveCount(i);
+            if (exact.bitLength() < Long.SIZE) {
+                assertEquals(exact.longValueExact(), table.moveCount(i), i + " disks");
+                assertEquals(exact.longValueExact(), dp.moveCount(i), i + " disks");
+            } else {
+                int disks = i;
+                assertThrows(ArithmeticException.class, () -> table.moveCount(disks));
+                assertThrows(ArithmeticException.class, () -> dp.moveCount(disks));
+                saturated++;
+            }
+        }
+        assertTrue(saturated > 0, "range should reach past long");
+    }
+
+    @Test
+    void smallCountsAndSplits() {
+        long[] counts = {0, 1, 3, 5, 9, 13, 17, 25, 33, 41, 49, 65};
+        for (int n = 0; n < counts.length; n++) {
+            assertEquals(counts[n], FrameStewart.moveCount(n), n + " disks");
+        }
+        assertEquals(1, FrameStewart.optimalK(1));
+        assertEquals(2, FrameStewart.optimalK(3));
+        assertEquals(3, FrameStewart.optimalK(4));
+        assertEquals(3, FrameStewart.optimalK(6));
+        assertThrows(IllegalArgumentException.class, () -> FrameStewart.optimalK(0));
+    }
+
+    @Test
+    void splitCostSaturates() {
+        assertEquals(2 * 5 + 7, FrameStewart.splitCost(5, 3));
+        assertEquals(Long.MAX_VALUE, FrameStewart.splitCost(Long.MAX_VALUE / 2, 2));
+        assertEquals(Long.MAX_VALUE, FrameStewart.splitCost(0, Long.SIZE - 1));
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.algoproject.solver;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoveBufferTest {
+
+    @Test
+    void packKeepsTheLargestDiskAndPegs() {
+        int move = MoveBuffer.pack(MultiPegFrameStewart.MAX_PEGS - 1, 0, MoveBuffer.MAX_DISKS - 1);
+        assertEquals(MultiPegFrameStewart.MAX_PEGS - 1, MoveBuffer.fromPegOf(move));
+        assertEquals(0, MoveBuffer.toPegOf(move));
+        assertEquals(MoveBuffer.MAX_DISKS - 1, MoveBuffer.diskIndexOf(move));
+    }
+
+    @Test
+    void solvesBeyondThePackedDiskRangeAreRejected() {
+        int tooMany = MoveBuffer.MAX_DISKS + 1;
+        assertThrows(IllegalArgumentException.class, () -> HanoiSolver.solve(HanoiAlgorithm.FRAME_STEWART, tooMany, 4));
+        assertThrows(IllegalArgumentException.class, () -> HanoiSolver.solveUncached(HanoiAlgorithm.FRAME_STEWART, tooMany, 5));
+        assertThrows(IllegalArgumentException.class, () -> HanoiSolver.dag(HanoiAlgorithm.FRAME_STEWART, tooMany, 4));
+        assertThrows(IllegalArgumentException.class, () -> HanoiSolver.generator(HanoiAlgorithm.FRAME_STEWART, tooMany));
+        assertThrows(IllegalArgumentException.class, () -> MultiPegFrameStewart.solve(tooMany, MultiPegFrameStewart.MAX_PEGS, (from, to, disk) -> {
+        }));
+        assertThrows(IllegalArgumentException.class, () -> HanoiSolver.solve(HanoiAlgorithm.FRAME_STEWART, 3, MultiPegFrameStewart.MAX_PEGS + 1, (from, to, disk) -> {
+        }));
+    }
+
+    @Test
+    void readOnlyBuffersRejectChanges() {
+        MoveBuffer moves = ReferenceSolver.threePeg(3, 0, 2, 1);
+        moves.makeReadOnly();
+        assertThrows(UnsupportedOperationException.class, () -> moves.add(0, 1, 0));
+        assertThrows(UnsupportedOperationException.class, moves::clear);
+        assertEquals(7, moves.size());
+    }
+}
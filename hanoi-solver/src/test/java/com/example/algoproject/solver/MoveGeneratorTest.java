@@ -0,0 +1,143 @@
+package com.example.algoproject.solver;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MoveGeneratorTest {
+    private static final int MAX_DISKS = 12;
+
+    @Test
+    void drainToMatchesTheReferenceAndSolves() {
+        for (HanoiAlgorithm algorithm : HanoiAlgorithm.values()) {
+            for (int n = 0; n <= MAX_DISKS; n++) {
+                MoveBuffer expected = ReferenceSolver.fourPeg(algorithm, n);
+                MoveBuffer moves = new MoveBuffer();
+                MoveGenerator.of(algorithm, n).drainTo(moves);
+
+                assertArrayEquals(expected.toArray(), moves.toArray(), algorithm + ", " + n + " disks");
+                assertTrue(MoveVerifier.verify(n, 4, moves).isSolved(), algorithm + ", " + n + " disks");
+            }
+        }
+    }
+
+    @Test
+    void buffersGetTheSameMovesAsOtherSinks() {
+        for (HanoiAlgorithm algorithm : HanoiAlgorithm.values()) {
+            for (int n = 0; n <= MAX_DISKS; n++) {
+                // Buffers copy step 3 from step 1, other sinks get every move generated
+                MoveBuffer expected = ReferenceSolver.fourPeg(algorithm, n).relabeled(new int[]{2, 0, 3, 1});
+                MoveBuffer streamed = new MoveBuffer();
+                MoveGenerator.of(algorithm.table(n), n, 2, 1, 0, 3).drainTo(streamed::add);
+                MoveBuffer buffered = new MoveBuffer();
+                buffered.add(3, 0, 0);
+                MoveGenerator.of(algorithm.table(n), n, 2, 1, 0, 3).drainTo(buffered);
+                String context = algorithm + ", " + n + " disks";
+
+                assertArrayEquals(expected.toArray(), streamed.toArray(), context);
+                assertEquals(expected.size() + 1, buffered.size(), context);
+                for (int i = 0; i < expected.size(); i++) {
+                    assertEquals(expected.packed(i), buffered.packed(i + 1), context + ", move " + i);
+                }
+                try (NativeMoveBuffer moves = new NativeMoveBuffer()) {
+                    MoveGenerator.of(algorithm.table(n), n, 2, 1, 0, 3).drainTo(moves);
+                    assertArrayEquals(expected.toArray(), moves.slice(0, (int) moves.size()).toArray(), context);
+                }
+            }
+        }
+    }
+
+    @Test
+    void nextMatchesTheReference() {
+        for (HanoiAlgorithm algorithm : HanoiAlgorithm.values()) {
+            for (int n = 0; n <= MAX_DISKS; n++) {
+                MoveBuffer expected = ReferenceSolver.fourPeg(algorithm, n);
+                MoveGenerator generator = MoveGenerator.of(algorithm, n);
+                MoveBuffer moves = new MoveBuffer();
+                while (generator.hasNext()) {
+                    assertEquals(expected.size() - moves.size(), generator.remaining());
+                    Move move = generator.next();
+                    moves.add(move.fromPeg, move.toPeg, move.diskIndex);
+                }
+
+                assertArrayEquals(expected.toArray(), moves.toArray(), algorithm + ", " + n + " disks");
+            }
+        }
+    }
+
+    @Test
+    void drainingInChunksResumesPartlyDrainedSubProblems() {
+        for (HanoiAlgorithm algorithm : HanoiAlgorithm.values()) {
+            for (long chunk : new long[]{1, 3, 7, 64}) {
+                MoveBuffer expected = ReferenceSolver.fourPeg(algorithm, MAX_DISKS);
+                MoveGenerator generator = MoveGenerator.of(algorithm, MAX_DISKS);
+                MoveBuffer moves = new MoveBuffer();
+                while (generator.hasNext()) {
+                    long remaining = generator.remaining();
+                    assertEquals(Math.min(chunk, remaining), generator.drainTo(moves, chunk));
+                    assertEquals(remaining - Math.min(chunk, remaining), generator.remaining());
+                }
+
+                assertArrayEquals(expected.toArray(), moves.toArray(), algorithm + ", chunks of " + chunk);
+            }
+        }
+    }
+
+    @Test
+    void threePegMatchesTheReference() {
+        for (int n = 0; n <= MAX_DISKS; n++) {
+            MoveBuffer expected = ReferenceSolver.threePeg(n, 2, 0, 1);
+            MoveGenerator generator = MoveGenerator.threePeg(n, 2, 0, 1);
+            MoveBuffer moves = new MoveBuffer();
+            generator.drainTo(moves, 5);
+            if (generator.hasNext()) {
+                Move move = generator.next();
+                moves.add(move.fromPeg, move.toPeg, move.diskIndex);
+            }
+            generator.drainTo(moves);
+
+            assertArrayEquals(expected.toArray(), moves.toArray(), n + " disks");
+            assertFalse(generator.hasNext());
+        }
+    }
+
+    @Test
+    void parallelStreamKeepsTheOrder() {
+        assertSameMoves(ReferenceSolver.threePeg(16, 0, 2, 1), MoveGenerator.threePeg(16, 0, 2, 1));
+        MoveGenerator partlyDrained = MoveGenerator.threePeg(16, 0, 2, 1);
+        partlyDrained.next();
+        List<Move> rest = partlyDrained.stream().parallel().collect(Collectors.toList());
+        assertEquals((1 << 16) - 2, rest.size());
+
+        for (HanoiAlgorithm algorithm : HanoiAlgorithm.values()) {
+            int n = algorithm == HanoiAlgorithm.SIMPLE_DIVIDE_AND_CONQUER ? 16 : 60;
+            MoveBuffer expected = new MoveBuffer();
+            MoveGenerator.of(algorithm, n).drainTo(expected);
+            assertSameMoves(expected, MoveGenerator.of(algorithm, n));
+        }
+    }
+
+    @Test
+    void exhaustedGeneratorThrows() {
+        Iterator<Move> generator = MoveGenerator.of(HanoiAlgorithm.FRAME_STEWART, 1);
+        generator.next();
+        assertThrows(NoSuchElementException.class, generator::next);
+    }
+
+    private static void assertSameMoves(MoveBuffer expected, MoveGenerator generator) {
+        List<Move> moves = generator.stream().parallel().collect(Collectors.toList());
+        assertEquals(expected.size(), moves.size());
+        for (int i = 0; i < moves.size(); i++) {
+            assertEquals(expected.get(i), moves.get(i), "move " + i);
+        }
+    }
+}
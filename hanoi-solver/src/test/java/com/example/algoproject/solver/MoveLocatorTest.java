@@ -0,0 +1,44 @@
+package com.example.algoproject.solver;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoveLocatorTest {
+    private static final int MAX_DISKS = 12;
+
+    @Test
+    void moveAtMatchesEveryMove() {
+        for (HanoiAlgorithm algorithm : HanoiAlgorithm.values()) {
+            for (int n = 1; n <= MAX_DISKS; n++) {
+                MoveBuffer expected = ReferenceSolver.fourPeg(algorithm, n);
+                for (int i = 0; i < expected.size(); i++) {
+                    assertEquals(expected.get(i), MoveLocator.moveAt(n, algorithm, i), algorithm + ", " + n + " disks, move " + i);
+                }
+            }
+        }
+    }
+
+    @Test
+    void stateAtMatchesEveryPrefix() {
+        for (HanoiAlgorithm algorithm : HanoiAlgorithm.values()) {
+            for (int n = 1; n <= MAX_DISKS; n++) {
+                int[][] expected = ReferenceSolver.states(new int[n], ReferenceSolver.fourPeg(algorithm, n));
+                for (int i = 0; i < expected.length; i++) {
+                    assertArrayEquals(expected[i], MoveLocator.stateAt(n, algorithm, i), algorithm + ", " + n + " disks, after " + i);
+                }
+            }
+        }
+    }
+
+    @Test
+    void indicesOutsideTheSolutionThrow() {
+        long moves = HanoiAlgorithm.FRAME_STEWART.table(6).moveCount(6);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> MoveLocator.moveAt(6, HanoiAlgorithm.FRAME_STEWART, moves));
+        assertThrows(IndexOutOfBoundsException.class, () -> MoveLocator.moveAt(6, HanoiAlgorithm.FRAME_STEWART, -1));
+        assertThrows(IndexOutOfBoundsException.class, () -> MoveLocator.stateAt(6, HanoiAlgorithm.FRAME_STEWART, moves + 1));
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.algoproject.solver;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MoveVerifierTest {
+
+    @Test
+    void everyEngineSolvesThePuzzle() {
+        for (HanoiAlgorithm algorithm : HanoiAlgorithm.values()) {
+            MoveVerifier verifier = MoveVerifier.verify(12, 4, ReferenceSolver.fourPeg(algorithm, 12));
+            assertTrue(verifier.isSolved(), algorithm + ": " + verifier.report());
+        }
+        MoveVerifier multiPeg = MoveVerifier.verify(MoveVerifier.MAX_DISKS, 7, ReferenceSolver.multiPeg(MoveVerifier.MAX_DISKS, 7));
+        assertTrue(multiPeg.isSolved(), multiPeg.report());
+        assertEquals("1 legal moves, all disks on their goal peg", MoveVerifier.verify(1, 3, ReferenceSolver.threePeg(1, 0, 2, 1)).report());
+    }
+
+    @Test
+    void largerDiskOnASmallerOneIsRejected() {
+        MoveVerifier verifier = new MoveVerifier(3, 3);
+        verifier.move(0, 1, 0);
+        verifier.move(0, 1, 1);
+        assertFalse(verifier.isLegal());
+        assertEquals(1, verifier.firstIllegalMove());
+        assertEquals("Illegal move 2: disk 2 would be placed on the smaller disk 1 on peg 2", verifier.report());
+    }
+
+    @Test
+    void diskNotOnTopIsRejected() {
+        MoveVerifier verifier = new MoveVerifier(3, 4);
+        verifier.move(0, 3, 1);
+        assertEquals("Illegal move 1: disk 2 is not on top of peg 1", verifier.report());
+
+        MoveVerifier fromEmpty = new MoveVerifier(3, 4);
+        fromEmpty.move(2, 3, 0);
+        assertEquals("Illegal move 1: disk 1 is not on top of peg 3", fromEmpty.report());
+    }
+
+    @Test
+    void pegsAndDisksOutOfRangeAreRejected() {
+        MoveVerifier samePeg = new MoveVerifier(3, 4);
+        samePeg.move(0, 0, 0);
+        assertEquals("Illegal move 1: peg 1 to peg 1 is not a move", samePeg.report());
+
+        MoveVerifier missingPeg = new MoveVerifier(3, 4);
+        missingPeg.move(0, 4, 0);
+        assertEquals("Illegal move 1: peg 1 to peg 5 is not a move", missingPeg.report());
+
+        MoveVerifier missingDisk = new MoveVerifier(3, 4);
+        missingDisk.move(0, 1, 3);
+        assertEquals("Illegal move 1: there is no disk 4", missingDisk.report());
+    }
+
+    @Test
+    void movesAfterTheFirstIllegalOneAreOnlyCounted() {
+        MoveVerifier verifier = new MoveVerifier(2, 3);
+        verifier.move(0, 1, 0);
+        verifier.move(1, 2, 1);  // illegal: disk 2 is on peg 1
+        verifier.move(0, 2, 1);
+        verifier.move(1, 2, 0);
+        assertEquals(4, verifier.moveCount());
+        assertEquals(1, verifier.firstIllegalMove());
+        assertFalse(verifier.isSolved());
+        assertArrayEquals(new int[]{1, 0}, verifier.state());
+    }
+
+    @Test
+    void legalButUnfinishedIsNotSolved() {
+        MoveBuffer moves = ReferenceSolver.fourPeg(HanoiAlgorithm.FRAME_STEWART, 6);
+        MoveVerifier verifier = new MoveVerifier(6, 4);
+        for (int i = 0; i < moves.size() - 1; i++) {
+            verifier.move(moves.fromPeg(i), moves.toPeg(i), moves.diskIndex(i));
+        }
+        assertTrue(verifier.isLegal());
+        assertFalse(verifier.isSolved());
+        assertEquals(moves.size() - 1 + " legal moves, but 1 disks are not on their goal peg", verifier.report());
+    }
+
+    @Test
+    void configurationsAreCheckedOnConstruction() {
+        assertThrows(IllegalArgumentException.class, () -> new MoveVerifier(MoveVerifier.MAX_DISKS + 1, 4));
+        assertThrows(IllegalArgumentException.class, () -> new MoveVerifier(3, 2));
+        assertThrows(IllegalArgumentException.class, () -> new MoveVerifier(4, new int[]{0, 4}, new int[]{3, 3}));
+        assertThrows(IllegalArgumentException.class, () -> new MoveVerifier(4, new int[]{0}, new int[]{3, 3}));
+    }
+
+    @Test
+    void configurationToConfiguration() {
+        int[] start = {2, 0, 1};
+        int[] goal = {3, 3, 3};
+        MoveVerifier verifier = new MoveVerifier(4, start, goal);
+        assertArrayEquals(start, verifier.state());
+        ConfigurationSolver.solve(start, goal).forEachMove(verifier);
+        assertTrue(verifier.isSolved(), verifier.report());
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.algoproject.solver;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MultiPegFrameStewartTest {
+    private static final int MAX_DISKS = 12;
+
+    @Test
+    void everySinkGetsTheReferenceMoves() {
+        for (int pegs = 3; pegs <= 7; pegs++) {
+            for (int n = 0; n <= MAX_DISKS; n++) {
+                MoveBuffer expected = ReferenceSolver.multiPeg(n, pegs);
+                String context = n + " disks on " + pegs + " pegs";
+
+                // A plain sink gets every step solved, buffers get step 3 copied from step 1
+                MoveBuffer streamed = new MoveBuffer();
+                MultiPegFrameStewart.solve(n, pegs, streamed::add);
+                MoveBuffer buffered = new MoveBuffer();
+                MultiPegFrameStewart.solve(n, pegs, buffered);
+                assertArrayEquals(expected.toArray(), streamed.toArray(), context);
+                assertArrayEquals(expected.toArray(), buffered.toArray(), context);
+                try (NativeMoveBuffer moves = new NativeMoveBuffer()) {
+                    MultiPegFrameStewart.solve(n, pegs, moves);
+                    assertArrayEquals(expected.toArray(), moves.slice(0, (int) moves.size()).toArray(), context);
+                }
+
+                assertEquals(MultiPegFrameStewart.moveCount(n, pegs), expected.size(), context);
+                assertTrue(MoveVerifier.verify(n, pegs, expected).isSolved(), context);
+            }
+        }
+    }
+
+    @Test
+    void tableForNoDisksCoversMorePegs() {
+        MultiPegFrameStewart.Table table = MultiPegFrameStewart.table(0, 20);
+        assertTrue(table.covers(0, 20));
+        assertEquals(0, table.moveCount(0, 20));
+    }
+
+    @Test
+    void fourPegsMatchFrameStewart() {
+        for (int n = 0; n <= 40; n++) {
+            assertEquals(HanoiAlgorithm.FRAME_STEWART.table(n).moveCount(n), MultiPegFrameStewart.moveCount(n, 4), n + " disks");
+        }
+    }
+
+    @Test
+    void maxDisksIsTheLastCountInTheLongRange() {
+        for (int pegs = 3; pegs <= 4; pegs++) {
+            int max = MultiPegFrameStewart.maxDisks(pegs);
+            MultiPegFrameStewart.moveCount(max, pegs);
+            int tooMany = max + 1;
+            int finalPegs = pegs;
+            assertThrows(ArithmeticException.class, () -> MultiPegFrameStewart.moveCount(tooMany, finalPegs));
+        }
+        assertEquals(62, MultiPegFrameStewart.maxDisks(3));
+        assertEquals(Integer.MAX_VALUE, MultiPegFrameStewart.maxDisks(MultiPegFrameStewart.MAX_PEGS));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.algoproject.solver;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelMoveGeneratorTest {
+    private static final int MAX_DISKS = 12;
+
+    // A threshold of one move forks every split, the default one runs small solves inline
+    private final ParallelMoveGenerator forking = new ParallelMoveGenerator(ForkJoinPool.commonPool(), 1);
+    private final ParallelMoveGenerator inline = new ParallelMoveGenerator();
+
+    @Test
+    void heapBufferMatchesTheReference() {
+        for (HanoiAlgorithm algorithm : HanoiAlgorithm.values()) {
+            for (int n = 0; n <= MAX_DISKS; n++) {
+                MoveBuffer expected = ReferenceSolver.fourPeg(algorithm, n);
+                for (ParallelMoveGenerator generator : new ParallelMoveGenerator[]{forking, inline}) {
+                    MoveBuffer moves = generator.generate(algorithm, n);
+
+                    assertArrayEquals(expected.toArray(), moves.toArray(), algorithm + ", " + n + " disks");
+                    assertTrue(MoveVerifier.verify(n, 4, moves).isSolved());
+                }
+            }
+        }
+    }
+
+    @Test
+    void nativeBufferMatchesTheReference() {
+        for (HanoiAlgorithm algorithm : HanoiAlgorithm.values()) {
+            for (int n = 0; n <= MAX_DISKS; n++) {
+                MoveBuffer expected = ReferenceSolver.fourPeg(algorithm, n);
+                try (NativeMoveBuffer moves = forking.generateNative(algorithm, n)) {
+                    assertEquals(expected.size(), moves.size());
+                    assertArrayEquals(expected.toArray(), moves.slice(0, expected.size()).toArray(), algorithm + ", " + n + " disks");
+
+                    MoveVerifier verifier = new MoveVerifier(n, 4);
+                    moves.forEachMove(verifier);
+                    assertTrue(verifier.isSolved());
+                }
+            }
+        }
+    }
+
+    @Test
+    void otherPegRolesMatchTheSequentialGenerator() {
+        SplitTable table = HanoiAlgorithm.FRAME_STEWART.table(MAX_DISKS);
+        MoveBuffer expected = new MoveBuffer();
+        MoveGenerator.of(table, MAX_DISKS, 2, 1, 3, 0).drainTo(expected);
+
+        assertArrayEquals(expected.toArray(), forking.generate(table, MAX_DISKS, 2, 1, 3, 0).toArray());
+    }
+}
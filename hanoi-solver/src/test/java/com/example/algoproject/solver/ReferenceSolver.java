@@ -0,0 +1,104 @@
+package com.example.algoproject.solver;
+
+import java.util.Arrays;
+
+/**
+ * The straightforward recursions the engines are checked against: every split solved
+ * again from scratch, every move appended to a {@link MoveBuffer}.
+ */
+final class ReferenceSolver {
+    private ReferenceSolver() {
+    }
+
+    /** n disks from peg 0 to peg 3 as the 4-peg engines solve them. */
+    static MoveBuffer fourPeg(HanoiAlgorithm algorithm, int n) {
+        MoveBuffer moves = new MoveBuffer();
+        fourPeg(algorithm.table(n), n, 0, 3, 1, 2, 0, moves);
+        return moves;
+    }
+
+    static MoveBuffer threePeg(int n, int source, int target, int auxiliary) {
+        MoveBuffer moves = new MoveBuffer();
+        threePeg(n, source, target, auxiliary, 0, moves);
+        return moves;
+    }
+
+    /** n disks from peg 0 to the last peg as {@link MultiPegFrameStewart#solve} solves them. */
+    static MoveBuffer multiPeg(int n, int pegs) {
+        int[] spares = new int[pegs - 2];
+        for (int i = 0; i < spares.length; i++) {
+            spares[i] = i + 1;
+        }
+        MoveBuffer moves = new MoveBuffer();
+        multiPeg(MultiPegFrameStewart.table(n, pegs), n, 0, pegs - 1, spares, 0, moves);
+        return moves;
+    }
+
+    /** Peg of every disk after each prefix of {@code moves}: {@code states[i]} is the state before move i. */
+    static int[][] states(int[] start, MoveBuffer moves) {
+        int[][] states = new int[moves.size() + 1][];
+        int[] state = start.clone();
+        states[0] = state.clone();
+        for (int i = 0; i < moves.size(); i++) {
+            state[moves.diskIndex(i)] = moves.toPeg(i);
+            states[i + 1] = state.clone();
+        }
+        return states;
+    }
+
+    static int[] tower(int n, int peg) {
+        int[] state = new int[n];
+        Arrays.fill(state, peg);
+        return state;
+    }
+
+    private static void fourPeg(SplitTable table, int n, int source, int target, int aux1, int aux2, int offset,
+                                MoveBuffer moves) {
+        if (n == 0) return;
+        if (n == 1) {
+            moves.add(source, target, offset);
+            return;
+        }
+        int k = table.split(n);
+        if (k == 0) {
+            threePeg(n, source, target, aux1, offset, moves);
+            return;
+        }
+        fourPeg(table, n - k, source, aux1, aux2, target, offset, moves);
+        threePeg(k, source, target, aux2, offset + n - k, moves);
+        fourPeg(table, n - k, aux1, target, source, aux2, offset, moves);
+    }
+
+    private static void threePeg(int n, int source, int target, int auxiliary, int offset, MoveBuffer moves) {
+        if (n == 0) return;
+        threePeg(n - 1, source, auxiliary, target, offset, moves);
+        moves.add(source, target, offset + n - 1);
+        threePeg(n - 1, auxiliary, target, source, offset, moves);
+    }
+
+    private static void multiPeg(MultiPegFrameStewart.Table table, int n, int source, int target, int[] spares, int offset,
+                                 MoveBuffer moves) {
+        if (n == 0) return;
+        if (spares.length == 1) {
+            threePeg(n, source, target, spares[0], offset, moves);
+            return;
+        }
+        if (n == 1) {
+            moves.add(source, target, offset);
+            return;
+        }
+        int k = table.split(n, spares.length + 2);
+        int middle = spares[0];
+        int[] step1Spares = new int[spares.length];
+        int[] step3Spares = new int[spares.length];
+        System.arraycopy(spares, 1, step1Spares, 0, spares.length - 1);
+        step1Spares[spares.length - 1] = target;
+        step3Spares[0] = source;
+        System.arraycopy(spares, 1, step3Spares, 1, spares.length - 1);
+        int[] rest = Arrays.copyOfRange(spares, 1, spares.length);
+
+        multiPeg(table, n - k, source, middle, step1Spares, offset, moves);
+        multiPeg(table, k, source, target, rest, offset + n - k, moves);
+        multiPeg(table, n - k, middle, target, step3Spares, offset, moves);
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.algoproject.solver;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SolutionCacheTest {
+    private static final HanoiAlgorithm ALGORITHM = HanoiAlgorithm.FRAME_STEWART;
+    private static final int DISKS = 8;
+
+    @Test
+    void hitsReturnTheSameReadOnlyBuffer() {
+        SolutionCache cache = new SolutionCache(SolutionCache.DEFAULT_MAX_BYTES);
+        MoveBuffer first = cache.get(ALGORITHM, DISKS, 4, 0, 3);
+        assertSame(first, cache.get(ALGORITHM, DISKS, 4, 0, 3));
+        assertTrue(first.isReadOnly());
+        assertThrows(UnsupportedOperationException.class, () -> first.add(0, 1, 0));
+
+        SolutionCache.Stats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.entries());
+    }
+
+    @Test
+    void otherPegsAreTheReferenceRelabeled() {
+        SolutionCache cache = new SolutionCache(SolutionCache.DEFAULT_MAX_BYTES);
+        for (int pegs = 3; pegs <= 6; pegs++) {
+            // 4 pegs are solved from the algorithm's split table, the rest from the multi-peg one
+            MoveBuffer canonical = pegs == 4 ? ReferenceSolver.fourPeg(ALGORITHM, DISKS) : ReferenceSolver.multiPeg(DISKS, pegs);
+            for (int source = 0; source < pegs; source++) {
+                for (int target = 0; target < pegs; target++) {
+                    if (source == target) continue;
+                    MoveBuffer moves = cache.get(ALGORITHM, DISKS, pegs, source, target);
+                    String context = pegs + " pegs from " + source + " to " + target;
+                    assertArrayEquals(canonical.relabeled(SolutionCache.labels(pegs, source, target)).toArray(), moves.toArray(), context);
+
+                    MoveVerifier verifier = new MoveVerifier(pegs, ReferenceSolver.tower(DISKS, source), ReferenceSolver.tower(DISKS, target));
+                    moves.forEachMove(verifier);
+                    assertTrue(verifier.isSolved(), context + ": " + verifier.report());
+                }
+            }
+        }
+        for (HanoiAlgorithm algorithm : HanoiAlgorithm.values()) {
+            MoveBuffer moves = cache.get(algorithm, DISKS, 4, 2, 1);
+            assertArrayEquals(ReferenceSolver.fourPeg(algorithm, DISKS).relabeled(SolutionCache.labels(4, 2, 1)).toArray(), moves.toArray(),
+                    algorithm.toString());
+        }
+    }
+
+    @Test
+    void canonicalSolutionIsAnOrdinaryEntry() {
+        SolutionCache cache = new SolutionCache(SolutionCache.DEFAULT_MAX_BYTES);
+        MoveBuffer moves = cache.get(ALGORITHM, DISKS, 5, 2, 1);
+        MoveBuffer canonical = cache.getIfPresent(ALGORITHM, DISKS, 5, 0, 4);
+
+        assertNotNull(canonical);
+        assertArrayEquals(canonical.relabeled(SolutionCache.labels(5, 2, 1)).toArray(), moves.toArray());
+        SolutionCache.Stats stats = cache.stats();
+        assertEquals(2, stats.entries());
+        assertEquals(2, stats.misses());
+        assertTrue(stats.bytes() >= moves.retainedBytes() + canonical.retainedBytes());
+
+        cache.clear();
+        assertEquals(0, cache.stats().bytes());
+        assertNull(cache.getIfPresent(ALGORITHM, DISKS, 5, 0, 4));
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() {
+        long entryBytes = entryBytes();
+        SolutionCache cache = new SolutionCache(2 * entryBytes);
+        cache.get(ALGORITHM, DISKS, 3, 0, 2, SolutionCacheTest::solve);
+        cache.get(ALGORITHM, DISKS, 3, 0, 1, SolutionCacheTest::solve);
+        cache.get(ALGORITHM, DISKS, 3, 0, 2, SolutionCacheTest::solve);
+        // Asked for often enough to win admission over the entry it replaces
+        for (int i = 0; i < 4; i++) {
+            cache.getIfPresent(ALGORITHM, DISKS, 3, 1, 2);
+        }
+        cache.get(ALGORITHM, DISKS, 3, 1, 2, SolutionCacheTest::solve);
+
+        SolutionCache.Stats stats = cache.stats();
+        assertEquals(1, stats.evictions());
+        assertEquals(2, stats.entries());
+        assertEquals(2 * entryBytes, stats.bytes());
+        assertNotNull(cache.getIfPresent(ALGORITHM, DISKS, 3, 0, 2));
+        assertNull(cache.getIfPresent(ALGORITHM, DISKS, 3, 0, 1));
+        assertNotNull(cache.getIfPresent(ALGORITHM, DISKS, 3, 1, 2));
+    }
+
+    @Test
+    void rarelyRequestedEntryIsNotAdmitted() {
+        long entryBytes = entryBytes();
+        SolutionCache cache = new SolutionCache(entryBytes);
+        for (int i = 0; i < 4; i++) {
+            cache.get(ALGORITHM, DISKS, 3, 0, 2, SolutionCacheTest::solve);
+        }
+        MoveBuffer rejected = cache.get(ALGORITHM, DISKS, 3, 0, 1, SolutionCacheTest::solve);
+
+        assertTrue(rejected.isReadOnly());
+        SolutionCache.Stats stats = cache.stats();
+        assertEquals(1, stats.rejections());
+        assertEquals(0, stats.evictions());
+        assertEquals(1, stats.entries());
+        assertNotNull(cache.getIfPresent(ALGORITHM, DISKS, 3, 0, 2));
+    }
+
+    @Test
+    void entriesLargerThanTheCacheAreRejected() {
+        SolutionCache cache = new SolutionCache(entryBytes() - 1);
+        MoveBuffer moves = cache.get(ALGORITHM, DISKS, 3, 0, 2, SolutionCacheTest::solve);
+
+        assertTrue(moves.isReadOnly());
+        assertEquals(1, cache.stats().rejections());
+        assertEquals(0, cache.stats().entries());
+        assertEquals(0, cache.stats().bytes());
+    }
+
+    @Test
+    void invalidKeysAreRejected() {
+        SolutionCache cache = new SolutionCache(SolutionCache.DEFAULT_MAX_BYTES);
+        assertThrows(IllegalArgumentException.class, () -> cache.get(ALGORITHM, DISKS, 2, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> cache.get(ALGORITHM, DISKS, 4, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> cache.get(ALGORITHM, -1, 4, 0, 3));
+        for (HanoiAlgorithm algorithm : HanoiAlgorithm.values()) {
+            if (algorithm != ALGORITHM) {
+                assertThrows(IllegalArgumentException.class, () -> cache.get(algorithm, DISKS, 5, 0, 4));
+            }
+        }
+    }
+
+    private static MoveBuffer solve() {
+        return ReferenceSolver.threePeg(DISKS, 0, 2, 1);
+    }
+
+    // Bytes one solution of the tests takes in a cache, overhead included
+    private static long entryBytes() {
+        SolutionCache probe = new SolutionCache(SolutionCache.DEFAULT_MAX_BYTES);
+        probe.get(ALGORITHM, DISKS, 3, 0, 2, SolutionCacheTest::solve);
+        return probe.stats().bytes();
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.algoproject.solver;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SolutionDagTest {
+    private static final int MAX_DISKS = 12;
+
+    @Test
+    void drainToAndPackedMoveAtMatchTheReference() {
+        for (HanoiAlgorithm algorithm : HanoiAlgorithm.values()) {
+            for (int n = 0; n <= MAX_DISKS; n++) {
+                MoveBuffer expected = ReferenceSolver.fourPeg(algorithm, n);
+                SolutionDag dag = SolutionDag.of(algorithm, n);
+
+                assertEquals(expected.size(), dag.length());
+                assertArrayEquals(expected.toArray(), dag.toMoveBuffer().toArray(), algorithm + ", " + n + " disks");
+                for (int i = 0; i < expected.size(); i++) {
+                    assertEquals(expected.packed(i), dag.packedMoveAt(i), algorithm + ", " + n + " disks, move " + i);
+                }
+            }
+        }
+    }
+
+    @Test
+    void multiPegAndThreePegMatchTheReference() {
+        for (int pegs = 3; pegs <= 6; pegs++) {
+            for (int n = 0; n <= MAX_DISKS; n++) {
+                assertArrayEquals(ReferenceSolver.multiPeg(n, pegs).toArray(), SolutionDag.multiPeg(n, pegs).toMoveBuffer().toArray(),
+                        n + " disks on " + pegs + " pegs");
+            }
+        }
+        assertArrayEquals(ReferenceSolver.threePeg(MAX_DISKS, 1, 0, 2).toArray(), SolutionDag.threePeg(MAX_DISKS, 1, 0, 2).toMoveBuffer().toArray());
+    }
+
+    @Test
+    void sliceMatchesTheSubRange() {
+        int[] expected = ReferenceSolver.fourPeg(HanoiAlgorithm.DYNAMIC_PROGRAMMING, MAX_DISKS).toArray();
+        SolutionDag dag = SolutionDag.of(HanoiAlgorithm.DYNAMIC_PROGRAMMING, MAX_DISKS);
+        for (int from = 0; from <= expected.length; from += 7) {
+            for (int to = from; to <= expected.length; to += 13) {
+                SolutionDag slice = dag.slice(from, to);
+                assertArrayEquals(Arrays.copyOfRange(expected, from, to), slice.toMoveBuffer().toArray(), from + ".." + to);
+                if (to > from) {
+                    assertEquals(expected[to - 1], slice.packedMoveAt(to - from - 1));
+                }
+            }
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> dag.slice(2, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> dag.slice(0, expected.length + 1));
+    }
+
+    @Test
+    void reversedUndoesTheSolution() {
+        for (int n = 1; n <= MAX_DISKS; n++) {
+            MoveBuffer forward = ReferenceSolver.fourPeg(HanoiAlgorithm.FRAME_STEWART, n);
+            SolutionDag reversed = SolutionDag.of(HanoiAlgorithm.FRAME_STEWART, n).reversed();
+            MoveBuffer backward = reversed.toMoveBuffer();
+
+            assertEquals(forward.size(), backward.size());
+            for (int i = 0; i < forward.size(); i++) {
+                int j = forward.size() - 1 - i;
+                assertEquals(MoveBuffer.pack(forward.toPeg(j), forward.fromPeg(j), forward.diskIndex(j)), backward.packed(i));
+                assertEquals(backward.packed(i), reversed.packedMoveAt(i));
+            }
+            MoveVerifier verifier = new MoveVerifier(4, ReferenceSolver.tower(n, 3), ReferenceSolver.tower(n, 0));
+            backward.forEachMove(verifier);
+            assertTrue(verifier.isSolved(), n + " disks");
+        }
+
+        // A reversed slice is the reverse of the slice
+        SolutionDag dag = SolutionDag.of(HanoiAlgorithm.FRAME_STEWART, MAX_DISKS);
+        int[] slice = dag.slice(10, 50).toMoveBuffer().toArray();
+        int[] reversedSlice = dag.reversed().slice(dag.length() - 50, dag.length() - 10).toMoveBuffer().toArray();
+        for (int i = 0; i < slice.length; i++) {
+            int move = slice[slice.length - 1 - i];
+            assertEquals(MoveBuffer.pack(MoveBuffer.toPegOf(move), MoveBuffer.fromPegOf(move), MoveBuffer.diskIndexOf(move)), reversedSlice[i]);
+        }
+    }
+
+    @Test
+    void relabeledRenamesEveryPeg() {
+        int[] pegMap = {2, 0, 3, 1};
+        MoveBuffer expected = ReferenceSolver.fourPeg(HanoiAlgorithm.FRAME_STEWART, MAX_DISKS).relabeled(pegMap);
+        SolutionDag relabeled = SolutionDag.of(HanoiAlgorithm.FRAME_STEWART, MAX_DISKS).relabeled(pegMap);
+
+        assertArrayEquals(expected.toArray(), relabeled.toMoveBuffer().toArray());
+        assertEquals(expected.packed(33), relabeled.packedMoveAt(33));
+        assertThrows(IllegalArgumentException.class, () -> relabeled.relabeled(new int[]{0, 0, 1, 2}));
+    }
+
+    @Test
+    void writeAndReadKeepTheView() throws IOException {
+        SolutionDag[] dags = {
+                SolutionDag.of(HanoiAlgorithm.FRAME_STEWART, MAX_DISKS).slice(5, 70).reversed().relabeled(new int[]{1, 2, 3, 0}),
+                SolutionDag.multiPeg(MAX_DISKS, 5),
+                SolutionDag.of(ReferenceSolver.fourPeg(HanoiAlgorithm.SIMPLE_DIVIDE_AND_CONQUER, 6), 6, 4),
+        };
+        for (SolutionDag dag : dags) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            dag.write(new DataOutputStream(bytes));
+            SolutionDag read = SolutionDag.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+            assertEquals(dag.length(), read.length());
+            assertEquals(dag.pegs(), read.pegs());
+            assertArrayEquals(dag.toMoveBuffer().toArray(), read.toMoveBuffer().toArray());
+        }
+    }
+
+    @Test
+    void readRejectsOtherData() {
+        byte[] garbage = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+        assertThrows(IOException.class, () -> SolutionDag.read(new DataInputStream(new ByteArrayInputStream(garbage))));
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.algoproject.solver;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SolverTraceTest {
+
+    @Test
+    void eventsFromEveryThreadArriveInOrder() throws InterruptedException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        int threads = 4;
+        int perThread = 1000;
+        SolverTrace.start(SolverTrace.Level.SUMMARY, new PrintStream(bytes, true, StandardCharsets.UTF_8));
+        try {
+            Thread[] producers = new Thread[threads];
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                producers[t] = new Thread(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        SolverTrace.solved(thread, i, 0);
+                    }
+                });
+                producers[t].start();
+            }
+            for (Thread producer : producers) {
+                producer.join();
+            }
+        } finally {
+            assertEquals(0, SolverTrace.stop());
+        }
+
+        long[] next = new long[threads];
+        for (String line : bytes.toString(StandardCharsets.UTF_8).split("\n")) {
+            String[] words = line.split(" ");  // solved <thread> disks in <i> moves
+            int thread = Integer.parseInt(words[1]);
+            assertEquals(next[thread]++, Long.parseLong(words[4]), line);
+        }
+        for (long count : next) {
+            assertEquals(perThread, count);
+        }
+    }
+
+    @Test
+    void fullRingDropsAndCountsEvents() throws InterruptedException {
+        BlockingStream blocking = new BlockingStream();
+        SolverTrace.start(SolverTrace.Level.SUMMARY, new PrintStream(blocking, true, StandardCharsets.UTF_8), 0, 2);
+        long dropped;
+        try {
+            // The writer takes the first event and blocks printing it, leaving both slots free
+            SolverTrace.solved(1, 1, 0);
+            blocking.entered.await();
+            for (int disks = 2; disks <= 6; disks++) {
+                SolverTrace.solved(disks, disks, 0);
+            }
+        } finally {
+            blocking.release.countDown();
+            dropped = SolverTrace.stop();
+        }
+
+        assertEquals(3, dropped);
+        assertEquals("solved 1 disks in 1 moves\nsolved 2 disks in 2 moves\nsolved 3 disks in 3 moves\n"
+                + "trace: 3 events dropped, the writer fell behind\n", blocking.text());
+    }
+
+    @Test
+    void splitsAreTracedDownToTheMaximumDepth() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SolverTrace.start(SolverTrace.Level.SPLITS, new PrintStream(bytes, true, StandardCharsets.UTF_8), 0, 64);
+        try {
+            MultiPegFrameStewart.solve(10, 5, new MoveBuffer());
+        } finally {
+            SolverTrace.stop();
+        }
+        String[] lines = bytes.toString(StandardCharsets.UTF_8).split("\n");
+        String last = lines[lines.length - 1];
+        assertTrue(lines[lines.length - 2].startsWith("split 10 disks on 5 pegs"), lines[lines.length - 2]);
+        assertTrue(last.startsWith("solved 10 disks in " + MultiPegFrameStewart.moveCount(10, 5) + " moves, "), last);
+        assertTrue(last.endsWith("deeper splits not traced"), last);
+    }
+
+    @Test
+    void stoppedTraceRecordsNothing() {
+        assertEquals(0, SolverTrace.stop());
+        assertFalse(SolverTrace.isEnabled(SolverTrace.Level.SUMMARY));
+        assertEquals(-1, SolverTrace.splitDepth());
+        SolverTrace.solved(1, 1, 0);  // no writer, no effect
+        assertEquals(0, SolverTrace.stop());
+    }
+
+    @Test
+    void levelsParseIgnoringCase() {
+        assertEquals(SolverTrace.Level.SPLITS, SolverTrace.parseLevel(" Splits "));
+        assertThrows(IllegalArgumentException.class, () -> SolverTrace.parseLevel("verbose"));
+        assertThrows(IllegalArgumentException.class, () -> SolverTrace.start(SolverTrace.Level.FULL, System.out, -1, 16));
+        assertThrows(IllegalArgumentException.class, () -> SolverTrace.start(SolverTrace.Level.FULL, System.out, 0, 0));
+    }
+
+    // Holds the first write until released
+    private static final class BlockingStream extends OutputStream {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (bytes) {
+                bytes.write(b, off, len);
+            }
+        }
+
+        String text() {
+            synchronized (bytes) {
+                return bytes.toString(StandardCharsets.UTF_8);
+            }
+        }
+    }
+}
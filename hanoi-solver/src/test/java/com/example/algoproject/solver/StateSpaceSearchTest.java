@@ -0,0 +1,112 @@
+package com.example.algoproject.solver;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StateSpaceSearchTest {
+    private static final int DISKS = 6;
+    private static final String NAME = "bfs-" + DISKS + "-0";  // files of the search from the tower
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void layersCoverEveryConfigurationAndTheGoalIsFrameStewart() {
+        for (int n = 1; n <= 8; n++) {
+            try (StateSpaceSearch search = StateSpaceSearch.inMemory(StateSpaceSearch.tower(n))) {
+                search.run();
+                assertEquals(1L << (2 * n), Arrays.stream(search.layerSizes()).sum());
+                assertEquals(FrameStewart.moveCount(n), search.goalDistance(), n + " disks");
+            }
+        }
+    }
+
+    @Test
+    void searchResumesFromTheLastCheckpoint() throws IOException {
+        long[] layers = inMemoryLayers();
+        // A directory where the checkpoint is written aside fails every save after the first
+        Path blocked = directory.resolve(NAME + ".checkpoint.tmp");
+        try (StateSpaceSearch search = StateSpaceSearch.onDisk(StateSpaceSearch.tower(DISKS), directory)) {
+            Files.createDirectory(blocked);
+            assertThrows(UncheckedIOException.class, search::run);
+        }
+        Files.delete(blocked);
+
+        // The codes went one layer past the checkpoint, which the sweeps absorb
+        try (StateSpaceSearch search = StateSpaceSearch.onDisk(StateSpaceSearch.tower(DISKS), directory)) {
+            assertFalse(search.isFinished());
+            assertArrayEquals(new long[]{1}, search.layerSizes());
+            search.run();
+            assertArrayEquals(layers, search.layerSizes());
+            assertEquals(FrameStewart.moveCount(DISKS), search.goalDistance());
+        }
+    }
+
+    @Test
+    void finishedSearchIsRestoredWithoutRunning() throws IOException {
+        long[] layers = inMemoryLayers();
+        try (StateSpaceSearch search = StateSpaceSearch.onDisk(StateSpaceSearch.tower(DISKS), directory)) {
+            search.run();
+        }
+        try (StateSpaceSearch search = StateSpaceSearch.onDisk(StateSpaceSearch.tower(DISKS), directory)) {
+            assertTrue(search.isFinished());
+            assertArrayEquals(layers, search.layerSizes());
+            assertEquals(layers.length - 1, search.eccentricity());
+            assertEquals(FrameStewart.moveCount(DISKS), search.goalDistance());
+        }
+    }
+
+    @Test
+    void checkpointWithoutItsCodesStartsOver() throws IOException {
+        long[] layers = inMemoryLayers();
+        try (StateSpaceSearch search = StateSpaceSearch.onDisk(StateSpaceSearch.tower(DISKS), directory)) {
+            search.run();
+        }
+        Files.delete(directory.resolve(NAME + ".codes"));
+
+        try (StateSpaceSearch search = StateSpaceSearch.onDisk(StateSpaceSearch.tower(DISKS), directory)) {
+            assertFalse(search.isFinished());
+            search.run();
+            assertArrayEquals(layers, search.layerSizes());
+        }
+    }
+
+    @Test
+    void foreignCheckpointStartsOver() throws IOException {
+        try (StateSpaceSearch search = StateSpaceSearch.onDisk(StateSpaceSearch.tower(DISKS), directory)) {
+            search.run();
+        }
+        Files.write(directory.resolve(NAME + ".checkpoint"), new byte[64]);
+
+        try (StateSpaceSearch search = StateSpaceSearch.onDisk(StateSpaceSearch.tower(DISKS), directory)) {
+            assertFalse(search.isFinished());
+            assertArrayEquals(new long[]{1}, search.layerSizes());
+        }
+    }
+
+    @Test
+    void unfinishedSearchHasNoEccentricity() {
+        try (StateSpaceSearch search = StateSpaceSearch.inMemory(StateSpaceSearch.tower(3))) {
+            assertThrows(IllegalStateException.class, search::eccentricity);
+        }
+    }
+
+    private static long[] inMemoryLayers() {
+        try (StateSpaceSearch search = StateSpaceSearch.inMemory(StateSpaceSearch.tower(DISKS))) {
+            search.run();
+            return search.layerSizes();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.algoproject.solver;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.foreign.MemorySegment;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ThreePegSolverTest {
+    private static final int MAX_DISKS = 12;
+
+    @Test
+    void solveMatchesTheReference() {
+        for (int n = 0; n <= MAX_DISKS; n++) {
+            MoveBuffer moves = new MoveBuffer();
+            ThreePegSolver.solve(n, 1, 2, 0, 0, moves);
+
+            assertArrayEquals(ReferenceSolver.threePeg(n, 1, 2, 0).toArray(), moves.toArray(), n + " disks");
+            assertEquals(ThreePegSolver.moveCount(n), moves.size());
+        }
+    }
+
+    @Test
+    void packedMoveAtMatchesEveryMove() {
+        for (int n = 0; n <= MAX_DISKS; n++) {
+            MoveBuffer expected = ReferenceSolver.threePeg(n, 0, 1, 2);
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.packed(i), ThreePegSolver.packedMoveAt(n, 0, 1, 2, 0, i), n + " disks, move " + i);
+            }
+        }
+    }
+
+    @Test
+    void diskOffsetShiftsEveryDisk() {
+        MoveBuffer moves = new MoveBuffer();
+        ThreePegSolver.solve(5, 0, 2, 1, 3, moves);
+        MoveBuffer expected = new MoveBuffer();
+        expected.addAll(ReferenceSolver.threePeg(5, 0, 2, 1), 3);
+
+        assertArrayEquals(expected.toArray(), moves.toArray());
+        assertEquals(expected.packed(7), ThreePegSolver.packedMoveAt(5, 0, 2, 1, 3, 7));
+    }
+
+    @Test
+    void writeFillsTheSegmentFromTheIndex() {
+        int n = 9;
+        int[] packed = new int[(1 << n) + 2];
+        long end = ThreePegSolver.write(MemorySegment.ofArray(packed), 2, n, 0, 2, 1, 0);
+
+        assertEquals(2 + (1 << n) - 1, end);
+        int[] expected = new int[packed.length];
+        System.arraycopy(ReferenceSolver.threePeg(n, 0, 2, 1).toArray(), 0, expected, 2, (1 << n) - 1);
+        assertArrayEquals(expected, packed);
+    }
+
+    @Test
+    void rejectsDiskCountsBeyondTheLongRange() {
+        assertThrows(IllegalArgumentException.class, () -> ThreePegSolver.solve(ThreePegSolver.MAX_DISKS + 1, 0, 2, 1, 0, (from, to, disk) -> {
+        }));
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.algoproject.solver.io;
+
+import com.example.algoproject.solver.MoveBuffer;
+import com.example.algoproject.solver.MultiPegFrameStewart;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoveWriterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void movesReadBackAsWrittenInEveryFormat() throws IOException {
+        // 2^15 - 1 text moves fill more than one buffer of the writer and the reader
+        int disks = 15;
+        MoveBuffer moves = new MoveBuffer();
+        MultiPegFrameStewart.solve(disks, 3, moves);
+        for (MoveFormat format : MoveFormat.values()) {
+            Path file = directory.resolve("moves." + format);
+            try (MoveWriter writer = MoveWriter.create(file, format)) {
+                writer.write(moves);
+                assertEquals(moves.size(), writer.moveCount());
+            }
+            try (MoveReader reader = MoveReader.open(file, format, disks)) {
+                assertArrayEquals(moves.toArray(), reader.readAll().toArray(), format.toString());
+            }
+        }
+    }
+
+    @Test
+    void textMatchesTheConsoleAndContinuesNumbering() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (MoveWriter writer = new MoveWriter(Channels.newChannel(bytes), MoveFormat.TEXT)) {
+            writer.move(0, 3, 0);
+            writer.numberFrom(41);
+            writer.move(1, 2, 11);
+        }
+        assertEquals("Move 1: Disk 1 from Peg 1 to Peg 4\nMove 42: Disk 12 from Peg 2 to Peg 3\n",
+                bytes.toString(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void compactReadsALastLineWithoutBreak() throws IOException {
+        MoveBuffer moves = read("1 2\n1 3\n2 3", MoveFormat.COMPACT, 2);
+        assertArrayEquals(new int[]{MoveBuffer.pack(0, 1, 0), MoveBuffer.pack(0, 2, 1), MoveBuffer.pack(1, 2, 0)},
+                moves.toArray());
+    }
+
+    @Test
+    void malformedInputIsRejected() {
+        assertThrows(IOException.class, () -> read("1 2 3\n", MoveFormat.COMPACT, 3));
+        assertThrows(IOException.class, () -> read("Move 1: Disk 1 from Peg 1\n", MoveFormat.TEXT, 3));
+        assertThrows(IOException.class, () -> read("2 1\n", MoveFormat.COMPACT, 3));  // peg 2 is empty
+        assertThrows(IOException.class, () -> read("1 0\n", MoveFormat.COMPACT, 3));
+    }
+
+    @Test
+    void binaryHoldsSixteenPegs() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (MoveWriter writer = new MoveWriter(Channels.newChannel(bytes), MoveFormat.BINARY)) {
+            writer.move(0, 15, 0);
+            assertThrows(IllegalArgumentException.class, () -> writer.move(15, 16, 0));
+        }
+        assertArrayEquals(new int[]{0x0F}, new int[]{bytes.toByteArray()[0]});
+    }
+
+    private static MoveBuffer read(String input, MoveFormat format, int disks) throws IOException {
+        byte[] bytes = input.getBytes(StandardCharsets.US_ASCII);
+        try (MoveReader reader = new MoveReader(Channels.newChannel(new ByteArrayInputStream(bytes)), format, disks)) {
+            return reader.readAll();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.algoproject.solver.io;
+
+import com.example.algoproject.solver.ConfigurationSolver;
+import com.example.algoproject.solver.HanoiAlgorithm;
+import com.example.algoproject.solver.HanoiSolver;
+import com.example.algoproject.solver.MoveBuffer;
+import com.example.algoproject.solver.MultiPegFrameStewart;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SolutionFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void movesAndStatesReadBackAsWritten() throws IOException {
+        int disks = 12;
+        MoveBuffer moves = HanoiSolver.solve(HanoiAlgorithm.FRAME_STEWART, disks, 4);
+        Path file = write("fs.sol", HanoiAlgorithm.FRAME_STEWART.name(), new int[disks], 4, moves);
+
+        try (SolutionFile solution = SolutionFile.open(file)) {
+            assertEquals(HanoiAlgorithm.FRAME_STEWART.name(), solution.algorithm());
+            assertEquals(disks, solution.numDisks());
+            assertEquals(4, solution.pegs());
+            assertEquals(moves.size(), solution.moveCount());
+            MoveBuffer replayed = new MoveBuffer();
+            solution.replay(0, solution.moveCount(), replayed);
+            assertArrayEquals(moves.toArray(), replayed.toArray());
+            // Located, not replayed: must agree with applying the moves
+            assertStatesMatch(solution, new int[disks], moves);
+        }
+    }
+
+    @Test
+    void manyPegsUseTheWideMoveLayout() throws IOException {
+        MoveBuffer moves = new MoveBuffer();
+        MultiPegFrameStewart.solve(30, 20, moves);
+        Path file = write("wide.sol", "MULTI_PEG", new int[30], 20, moves);
+
+        try (SolutionFile solution = SolutionFile.open(file)) {
+            MoveBuffer replayed = new MoveBuffer();
+            solution.replay(0, solution.moveCount(), replayed);
+            assertArrayEquals(moves.toArray(), replayed.toArray());
+            assertStatesMatch(solution, new int[30], moves);
+        }
+    }
+
+    @Test
+    void configurationSolutionsKeepTheirStart() throws IOException {
+        int[] start = {1, 3, 0, 2, 2, 1};
+        int[] goal = {3, 3, 3, 3, 3, 3};
+        MoveBuffer moves = ConfigurationSolver.solve(start, goal);
+        Path file = write("configuration.sol", "A_STAR", start, 4, moves);
+
+        try (SolutionFile solution = SolutionFile.open(file)) {
+            assertArrayEquals(start, solution.start());
+            assertArrayEquals(goal, solution.stateAt(solution.moveCount()));
+            assertStatesMatch(solution, start, moves);
+        }
+    }
+
+    @Test
+    void versionOneFilesAreStillRead() throws IOException {
+        MoveBuffer moves = HanoiSolver.solve(HanoiAlgorithm.DYNAMIC_PROGRAMMING, 7, 4);
+        Path file = directory.resolve("v1.sol");
+        Files.write(file, versionOne(HanoiAlgorithm.DYNAMIC_PROGRAMMING.name(), 7, moves, moves.size()));
+
+        try (SolutionFile solution = SolutionFile.open(file)) {
+            assertEquals(moves.size(), solution.moveCount());
+            assertArrayEquals(new int[7], solution.start());
+            for (int i = 0; i < moves.size(); i++) {
+                assertEquals(moves.diskIndex(i), solution.diskIndex(i));
+                assertEquals(moves.toPeg(i), solution.toPeg(i));
+            }
+            assertStatesMatch(solution, new int[7], moves);
+        }
+    }
+
+    @Test
+    void versionOneConfigurationSolutionsHaveNoStart() throws IOException {
+        MoveBuffer moves = ConfigurationSolver.solve(new int[]{1, 1, 0}, new int[]{3, 3, 3});
+        Path file = directory.resolve("v1-configuration.sol");
+        Files.write(file, versionOne("A_STAR", 3, moves, moves.size()));
+
+        try (SolutionFile solution = SolutionFile.open(file)) {
+            assertNull(solution.start());
+            assertThrows(IllegalStateException.class, () -> solution.stateAt(1));
+            assertEquals(moves.fromPeg(0), solution.fromPeg(0));
+        }
+    }
+
+    @Test
+    void corruptFilesAreRejected() throws IOException {
+        MoveBuffer moves = HanoiSolver.solve(HanoiAlgorithm.FRAME_STEWART, 4, 4);
+        Path truncated = directory.resolve("truncated.sol");
+        Files.write(truncated, versionOne("FRAME_STEWART", 4, moves, moves.size() + 1L));
+        assertThrows(IOException.class, () -> SolutionFile.open(truncated).close());
+
+        Path foreign = directory.resolve("foreign.sol");
+        Files.write(foreign, new byte[SolutionFile.HEADER_SIZE]);
+        assertThrows(IOException.class, () -> SolutionFile.open(foreign).close());
+    }
+
+    @Test
+    void seeksOutsideTheMovesAreRejected() throws IOException {
+        MoveBuffer moves = HanoiSolver.solve(HanoiAlgorithm.FRAME_STEWART, 3, 4);
+        Path file = write("small.sol", HanoiAlgorithm.FRAME_STEWART.name(), new int[3], 4, moves);
+        try (SolutionFile solution = SolutionFile.open(file)) {
+            assertThrows(IndexOutOfBoundsException.class, () -> solution.move(moves.size()));
+            assertThrows(IndexOutOfBoundsException.class, () -> solution.stateAt(moves.size() + 1L));
+            assertThrows(IndexOutOfBoundsException.class, () -> solution.replay(2, 1, new MoveBuffer()));
+        }
+    }
+
+    private Path write(String name, String algorithm, int[] start, int pegs, MoveBuffer moves) throws IOException {
+        Path file = directory.resolve(name);
+        try (SolutionFile.Writer writer = SolutionFile.create(file, algorithm, start, pegs)) {
+            moves.forEachMove(writer);
+        }
+        return file;
+    }
+
+    private static void assertStatesMatch(SolutionFile solution, int[] start, MoveBuffer moves) {
+        int[] state = start.clone();
+        for (int i = 0; i <= moves.size(); i++) {
+            assertArrayEquals(state, solution.stateAt(i), "after " + i + " moves");
+            if (i < moves.size()) {
+                state[moves.diskIndex(i)] = moves.toPeg(i);
+            }
+        }
+    }
+
+    // Header of 64 bytes without a start configuration, two-byte moves
+    private static byte[] versionOne(String algorithm, int numDisks, MoveBuffer moves, long moveCount) {
+        byte[] name = algorithm.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer bytes = ByteBuffer.allocate(64 + 2 * moves.size()).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.put("HANOISOL".getBytes(StandardCharsets.US_ASCII)).putInt(1).putInt(numDisks).putInt(4).putInt(2)
+                .putLong(moveCount).putShort((short) name.length).put(name);
+        bytes.position(64);
+        for (int i = 0; i < moves.size(); i++) {
+            bytes.put((byte) (moves.fromPeg(i) << 4 | moves.toPeg(i))).put((byte) moves.diskIndex(i));
+        }
+        return bytes.array();
+    }
+}